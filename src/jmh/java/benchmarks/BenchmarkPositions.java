@@ -0,0 +1,74 @@
+package benchmarks;
+
+import model.board.BitboardBoard;
+import model.board.Board;
+import services.bitboard.Bitboards;
+import services.board.BoardInterface;
+import services.board.BoardService;
+import services.board.BoardServiceImpl;
+import services.board.SquareInterface;
+import services.enums.PieceColor;
+import services.strategy.BishopStrategy;
+import services.strategy.KingStrategy;
+import services.strategy.KnightStrategy;
+import services.strategy.PawnStrategy;
+import services.strategy.QueenStrategy;
+import services.strategy.RookStrategy;
+import services.strategy.common.PieceInterface;
+import services.strategy.common.PieceStrategy;
+
+/**
+ * The fixed positions every benchmark runs on. Each one is reached by playing
+ * its moves from the initial setup through {@link BoardService#makeMove}, so it
+ * can be built on both kinds of board.
+ */
+public enum BenchmarkPositions {
+    OPENING(""),
+    MIDDLEGAME("e2e4 e7e5 g1f3 b8c6 f1c4 g8f6 d2d3 f8c5 b1c3 d7d6 c1g5 h7h6"),
+    CHECK("e2e4 d7d5 f1b5"),
+    CHECKMATE("f2f3 e7e5 g2g4 d8h4"),
+    STALEMATE("e2e3 a7a5 d1h5 a8a6 h5a5 h7h5 h2h4 a6h6 a5c7 f7f6 c7d7 e8f7 d7b7 d8d3 b7b8 d3h7 b8c8 f7g6 c8e6");
+
+    private final String[] moves;
+
+    BenchmarkPositions(String moves) {
+        this.moves = moves.isEmpty() ? new String[0] : moves.split(" ");
+    }
+
+    public BoardService create(String boardType) {
+        BoardInterface board = boardType.equals("bitboard") ? new BitboardBoard() : new Board();
+        BoardService boardService = new BoardServiceImpl(board);
+
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        for (String move : moves) {
+            int from = Bitboards.parseSquare(move.substring(0, 2));
+            int to = Bitboards.parseSquare(move.substring(2, 4));
+            PieceInterface piece = squares[Bitboards.squareY(from)][Bitboards.squareX(from)].getOccupyingPiece();
+            boardService.makeMove(piece, squares[Bitboards.squareY(to)][Bitboards.squareX(to)]);
+        }
+
+        boardService.setWhiteTurn(moves.length % 2 == 0);
+        return boardService;
+    }
+
+    public PieceColor sideToMove() {
+        return moves.length % 2 == 0 ? PieceColor.WHITE : PieceColor.BLACK;
+    }
+
+    public static PieceStrategy strategyFor(PieceInterface piece) {
+        switch (piece.getPieceType()) {
+            case PAWN:
+                return new PawnStrategy(piece);
+            case KNIGHT:
+                return new KnightStrategy(piece);
+            case BISHOP:
+                return new BishopStrategy(piece);
+            case ROOK:
+                return new RookStrategy(piece);
+            case QUEEN:
+                return new QueenStrategy(piece);
+            default:
+                return new KingStrategy(piece);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package benchmarks;
+
+import model.board.BitboardBoard;
+import model.board.Board;
+import org.openjdk.jmh.annotations.*;
+import services.board.BoardService;
+import services.board.BoardServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardConstructionBenchmark {
+
+    @Benchmark
+    public BoardService gridBoardService() {
+        return new BoardServiceImpl(new Board());
+    }
+
+    @Benchmark
+    public BoardService bitboardBoardService() {
+        return new BoardServiceImpl(new BitboardBoard());
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import services.board.BoardService;
+import services.checkmatedetection.CheckmateDetector;
+import services.checkmatedetection.CheckmateDetectorImpl;
+import services.enums.PieceColor;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckDetectionBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "CHECK", "CHECKMATE", "STALEMATE"})
+    private BenchmarkPositions position;
+
+    @Param({"grid", "bitboard"})
+    private String boardType;
+
+    private final CheckmateDetector checkmateDetector = new CheckmateDetectorImpl();
+    private BoardService boardService;
+    private PieceColor sideToMove;
+
+    @Setup
+    public void setUp() {
+        boardService = position.create(boardType);
+        sideToMove = position.sideToMove();
+    }
+
+    @Benchmark
+    public boolean isInCheck() {
+        return checkmateDetector.isInCheck(boardService, sideToMove);
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return checkmateDetector.isInCheckmate(boardService, sideToMove);
+    }
+
+    @Benchmark
+    public boolean isInStalemate() {
+        return checkmateDetector.isInStalemate(boardService, sideToMove);
+    }
+}
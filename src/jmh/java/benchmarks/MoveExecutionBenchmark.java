@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import services.board.BoardService;
+import services.board.Move;
+import services.board.SquareInterface;
+import services.strategy.common.PieceInterface;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Playing a move and taking it back, so every invocation starts from the same position.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveExecutionBenchmark {
+
+    @Param({"grid", "bitboard"})
+    private String boardType;
+
+    private BoardService boardService;
+    private PieceInterface knight;
+    private PieceInterface bishop;
+    private SquareInterface knightFrom;
+    private SquareInterface knightTo;
+    private SquareInterface captureSquare;
+
+    @Setup
+    public void setUp() {
+        boardService = BenchmarkPositions.MIDDLEGAME.create(boardType);
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+
+        // Nf3-h4 and back is quiet; Bg5xf6 captures the knight on f6
+        knightFrom = squares[5][5];
+        knightTo = squares[4][7];
+        knight = knightFrom.getOccupyingPiece();
+        bishop = squares[3][6].getOccupyingPiece();
+        captureSquare = squares[2][5];
+    }
+
+    @Benchmark
+    public boolean moveMakeMoveQuiet() {
+        boolean moved = Move.makeMove(knight, knightTo, boardService);
+        Move.makeMove(knight, knightFrom, boardService);
+        return moved;
+    }
+
+    @Benchmark
+    public boolean boardServiceMakeUnmakeQuiet() {
+        boolean moved = boardService.makeMove(knight, knightTo);
+        boardService.unmakeMove();
+        return moved;
+    }
+
+    @Benchmark
+    public boolean boardServiceMakeUnmakeCapture() {
+        boolean moved = boardService.makeMove(bishop, captureSquare);
+        boardService.unmakeMove();
+        return moved;
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import services.board.BoardService;
+import services.board.SquareInterface;
+import services.enums.PieceType;
+import services.strategy.common.PieceInterface;
+import services.strategy.common.PieceStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legal move generation for every piece of one type belonging to the side to move.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "CHECK"})
+    private BenchmarkPositions position;
+
+    @Param({"grid", "bitboard"})
+    private String boardType;
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    private PieceType pieceType;
+
+    private SquareInterface[][] squares;
+    private List<PieceInterface> pieces;
+    private List<PieceStrategy> strategies;
+
+    @Setup
+    public void setUp() {
+        BoardService boardService = position.create(boardType);
+        squares = boardService.getBoardSquareArray();
+
+        pieces = new ArrayList<>();
+        strategies = new ArrayList<>();
+        List<PieceInterface> ownPieces = boardService.isWhiteTurn()
+                ? boardService.getWhitePieces()
+                : boardService.getBlackPieces();
+        for (PieceInterface piece : ownPieces) {
+            if (piece.getPieceType() == pieceType) {
+                pieces.add(piece);
+                strategies.add(BenchmarkPositions.strategyFor(piece));
+            }
+        }
+    }
+
+    // The square-grid strategy walk
+    @Benchmark
+    public void strategyGetLegalMoves(Blackhole blackhole) {
+        for (PieceStrategy strategy : strategies) {
+            blackhole.consume(strategy.getLegalMoves(squares));
+        }
+    }
+
+    // What the GUI calls; goes through the bitboard generator on bitboard boards
+    @Benchmark
+    public void pieceGetLegalMoves(Blackhole blackhole) {
+        for (PieceInterface piece : pieces) {
+            blackhole.consume(piece.getLegalMoves(squares));
+        }
+    }
+}
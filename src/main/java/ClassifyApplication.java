@@ -0,0 +1,46 @@
+import services.classify.BatchClassifier;
+import services.classify.ClassificationCounts;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Command line classifier for FEN and EPD files, kept apart from the Swing
+ * {@link Application}.
+ * <p>
+ * Usage: {@code ClassifyApplication <input> [output]}. Writes a line per position
+ * with its class (normal, check, checkmate, stalemate or invalid), its number of
+ * legal moves and the input line, in input order, to the output file or to
+ * standard output. The totals and the throughput go to standard error.
+ */
+public class ClassifyApplication {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: ClassifyApplication <input> [output]");
+            return;
+        }
+
+        BatchClassifier classifier = new BatchClassifier(Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        ClassificationCounts counts;
+
+        try (FileChannel input = FileChannel.open(Paths.get(args[0]), StandardOpenOption.READ);
+             WritableByteChannel output = args.length > 1
+                     ? FileChannel.open(Paths.get(args[1]), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)
+                     : Channels.newChannel(new FileOutputStream(FileDescriptor.out))) {
+            counts = classifier.classify(input, output);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.println(counts);
+        System.err.printf("Time: %.3f s, positions/s: %.0f%n", seconds, counts.getTotal() / Math.max(seconds, 1e-9));
+    }
+}
@@ -0,0 +1,64 @@
+import services.engine.SearchEngineImpl;
+import services.engine.TranspositionTable;
+import services.match.Adjudication;
+import services.match.MatchRunner;
+import services.match.Sprt;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Command line engine match with an SPRT stop.
+ * <p>
+ * Usage: {@code MatchApplication [maxGames] [threads] [clockSeconds] [openingsFile]}.
+ * The openings file holds one line of moves from the initial position per line,
+ * such as {@code e2e4 e7e5 g1f3}. Plays the current engine against itself with
+ * H0: 0 Elo, H1: 10 Elo and 5% error rates, and prints the running result after
+ * every tenth game.
+ */
+public class MatchApplication {
+
+    private static final List<String> DEFAULT_OPENINGS = List.of(
+            "e2e4 e7e5 g1f3 b8c6",
+            "e2e4 c7c5 g1f3 d7d6",
+            "d2d4 d7d5 c2c4 e7e6",
+            "d2d4 g8f6 c2c4 g7g6",
+            "c2c4 e7e5 b1c3 g8f6",
+            "g1f3 d7d5 g2g3 g8f6"
+    );
+
+    public static void main(String[] args) throws IOException {
+        int maxGames = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int clockSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        List<String> openings = args.length > 3
+                ? Files.readAllLines(Paths.get(args[3])).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .collect(Collectors.toList())
+                : DEFAULT_OPENINGS;
+
+        Sprt sprt = new Sprt(0, 10, 0.05, 0.05);
+        MatchRunner runner = new MatchRunner(
+                () -> new SearchEngineImpl(TranspositionTable.ofMegabytes(4, false)),
+                () -> new SearchEngineImpl(TranspositionTable.ofMegabytes(4, false)),
+                openings, clockSeconds, Adjudication.defaults(), sprt, threads);
+
+        long start = System.nanoTime();
+        Sprt.Decision decision = runner.run(maxGames, statistics -> {
+            if (statistics.getGames() % 10 == 0) {
+                System.out.printf("%s, LLR %.2f%n", statistics, runner.getLogLikelihoodRatio());
+            }
+        });
+
+        System.out.println();
+        System.out.println(runner.getStatistics());
+        System.out.printf("LLR %.2f (%.2f, %.2f): %s%n", runner.getLogLikelihoodRatio(),
+                sprt.getLowerBound(), sprt.getUpperBound(), decision);
+        System.out.println("Terminations: " + runner.getStatistics().getTerminations());
+        System.out.printf("Time: %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+}
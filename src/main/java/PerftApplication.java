@@ -0,0 +1,74 @@
+import com.sun.management.ThreadMXBean;
+import model.board.BitboardBoard;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Bitboards;
+import services.bitboard.Fen;
+import services.bitboard.Perft;
+import services.board.BoardService;
+import services.board.BoardServiceImpl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Command line perft runner, kept apart from the Swing {@link Application}.
+ * <p>
+ * Usage: {@code PerftApplication <depth> [fen]}. Without a FEN the position is
+ * taken from a freshly set up {@link BoardService}. Prints the divide counts,
+ * the total, nodes per second and the bytes allocated per node.
+ */
+public class PerftApplication {
+    private static final String USAGE = "Usage: PerftApplication <depth> [fen], with depth from 0 to " + Perft.MAX_DEPTH;
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        int depth;
+        try {
+            depth = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            depth = -1;
+        }
+        if (depth < 0 || depth > Perft.MAX_DEPTH) {
+            System.out.println(USAGE);
+            return;
+        }
+        BitboardPosition position;
+        int sideToMove;
+
+        if (args.length > 1) {
+            position = new BitboardPosition();
+            sideToMove = Fen.load(String.join(" ", Arrays.copyOfRange(args, 1, args.length)), position);
+        } else {
+            BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+            position = boardService.getBitboardPosition().orElseThrow().copy();
+            sideToMove = boardService.isWhiteTurn() ? Bitboards.WHITE : Bitboards.BLACK;
+        }
+
+        Perft perft = new Perft(position, depth);
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        Map<String, Long> divide = perft.divide(sideToMove, depth);
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        long total = 0L;
+        for (Map.Entry<String, Long> entry : divide.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+
+        System.out.println();
+        System.out.println("Nodes: " + total);
+        System.out.printf("Time: %.3f s%n", elapsed / 1e9);
+        System.out.printf("Nodes/s: %.0f%n", total / Math.max(elapsed / 1e9, 1e-9));
+        System.out.printf("Bytes/node: %.4f%n", total == 0 ? 0.0 : (double) allocated / total);
+    }
+}
@@ -0,0 +1,79 @@
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.engine.SearchEngineImpl;
+import services.engine.SearchLimits;
+import services.engine.SearchResult;
+import services.engine.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line report of how the lazy SMP search scales with the thread count.
+ * <p>
+ * Usage: {@code SmpScalingApplication [maxThreads] [depth] [tableMegabytes]}.
+ * Searches a fixed set of positions to a fixed depth with 1, 2, 4, ... threads,
+ * each count starting from an empty transposition table, and prints the
+ * time-to-depth, nodes per second, speedup and efficiency (speedup per thread)
+ * relative to one thread. A first untimed pass warms up the JIT.
+ */
+public class SmpScalingApplication {
+
+    private static final String[] POSITIONS = {
+            Fen.STARTING_POSITION,
+            "r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w - - 0 1",
+            "r2q1rk1/ppp2ppp/2np1n2/2b1p1B1/2B1P1b1/2NP1N2/PPP2PPP/R2Q1RK1 w - - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"
+    };
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+        int tableMegabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        // Untimed pass so the first row is not measuring JIT compilation
+        try (SearchEngineImpl warmUp = new SearchEngineImpl(TranspositionTable.ofMegabytes(tableMegabytes, false), 1)) {
+            runPositions(warmUp, depth);
+        }
+
+        System.out.printf("%8s %12s %14s %9s %11s%n", "threads", "time (ms)", "nodes/s", "speedup", "efficiency");
+
+        double baseMillis = 0;
+        for (int threads : threadCounts(maxThreads)) {
+            long start = System.nanoTime();
+            long nodes;
+            try (SearchEngineImpl engine = new SearchEngineImpl(
+                    TranspositionTable.ofMegabytes(tableMegabytes, false), threads)) {
+                nodes = runPositions(engine, depth);
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+
+            if (threads == 1) {
+                baseMillis = millis;
+            }
+            double speedup = baseMillis / millis;
+            System.out.printf("%8d %12.1f %14.0f %9.2f %11.2f%n",
+                    threads, millis, nodes / (millis / 1000), speedup, speedup / threads);
+        }
+    }
+
+    private static long runPositions(SearchEngineImpl engine, int depth) {
+        long nodes = 0L;
+        for (String fen : POSITIONS) {
+            BitboardPosition position = new BitboardPosition();
+            int sideToMove = Fen.load(fen, position);
+            SearchResult result = engine.search(position, sideToMove, SearchLimits.depth(depth));
+            nodes += result.getNodes();
+        }
+        return nodes;
+    }
+
+    private static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(Math.max(maxThreads, 1));
+        return counts;
+    }
+}
@@ -0,0 +1,37 @@
+import services.tablebase.Material;
+import services.tablebase.TablebaseGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Command line tablebase generator.
+ * <p>
+ * Usage: {@code TablebaseApplication <directory> <ending>...}, for example
+ * {@code TablebaseApplication tables KQvK KRvK KPvK KQvKR}. Writes one file per
+ * ending, plus the endings reachable from them by captures, using one worker
+ * thread per available processor.
+ */
+public class TablebaseApplication {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: TablebaseApplication <directory> <ending>...");
+            return;
+        }
+
+        Path directory = Files.createDirectories(Paths.get(args[0]));
+        TablebaseGenerator generator = new TablebaseGenerator(Runtime.getRuntime().availableProcessors());
+
+        for (int i = 1; i < args.length; i++) {
+            Material material = Material.parse(args[i]);
+            long start = System.nanoTime();
+            List<Path> files = generator.generateFiles(material, directory);
+            System.out.printf("%s: %.1f s, %d files in %s%n",
+                    material, (System.nanoTime() - start) / 1e9, files.size(), directory);
+        }
+    }
+}
@@ -2,8 +2,13 @@ package controller;
 
 import services.board.SquareInterface;
 
+import java.util.List;
+
 public interface GameController {
     boolean handlePress(SquareInterface square);
 
     boolean handleRelease(SquareInterface square);
+
+    // Squares the piece on the given square may move to; empty unless it belongs to the side to move
+    List<SquareInterface> getLegalTargets(SquareInterface square);
 }
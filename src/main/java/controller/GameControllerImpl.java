@@ -1,20 +1,33 @@
 package controller;
 
+import services.bitboard.Bitboards;
 import services.board.BoardService;
 import services.board.SquareInterface;
 import services.checkmatedetection.CheckmateDetector;
 import services.enums.PieceColor;
 import services.strategy.common.PieceInterface;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static services.enums.PieceColor.BLACK;
 import static services.enums.PieceColor.WHITE;
 
+/**
+ * Turns presses and drops on the board into moves. On bitboard boards the legal
+ * moves of the side to move are generated once per position into a
+ * {@link LegalMoveTable}, which then answers every question about that position:
+ * whether a piece may be picked up, whether it may be dropped on a square, which
+ * squares to highlight, and, right after a move, whether the opponent is mated
+ * or stalemated. Other boards fall back to the piece strategies and the
+ * {@link CheckmateDetector}.
+ */
 public class GameControllerImpl implements GameController {
     private final BoardService boardService;
     private final CheckmateDetector checkmateDetector;
     private final GameWindowInterface gameWindowInterface;
+    private final LegalMoveTable legalMoveTable = new LegalMoveTable();
 
     public GameControllerImpl(BoardService boardService, CheckmateDetector checkmateDetector, GameWindowInterface gameWindowInterface) {
         this.boardService = boardService;
@@ -31,7 +44,13 @@ public class GameControllerImpl implements GameController {
             if (currentPieceColor.equals(BLACK) && boardService.isWhiteTurn())
                 return false;
 
-            return !currentPieceColor.equals(WHITE) || boardService.isWhiteTurn();
+            if (currentPieceColor.equals(WHITE) && !boardService.isWhiteTurn())
+                return false;
+
+            // A piece without a legal move is not picked up
+            return legalMovesFor(currentPieceColor)
+                    .map(table -> table.getTargets(squareIndex(square)) != 0)
+                    .orElse(true);
         }
         return true;
     }
@@ -49,59 +68,115 @@ public class GameControllerImpl implements GameController {
         if (currentPieceColor.equals(WHITE) && !boardService.isWhiteTurn())
             return false;
 
+        Optional<LegalMoveTable> legalMoveTable = legalMovesFor(currentPieceColor);
+        if (legalMoveTable.isPresent()) {
+            if (!legalMoveTable.get().isLegal(squareIndex(currentPiece.getCurrentSquare()), squareIndex(targetSquare))) {
+                // Only a rejected drop pays for the strategy moves, to tell a king left in check from a wrong move
+                if (!currentPiece.getLegalMoves(boardService.getBoardSquareArray()).contains(targetSquare)) {
+                    return false;
+                }
+                gameWindowInterface.kingLeftInCheck();
+                return true;
+            }
+
+            makeMoveAndCheckSpecialRules(currentPiece, currentPieceColor, targetSquare);
+            return true;
+        }
+
         List<SquareInterface> legalMoves = currentPiece.getLegalMoves(boardService.getBoardSquareArray());
 
         if (!legalMoves.contains(targetSquare)) return false;
 
-        // Store the original square of the current piece
-        SquareInterface originalSquare = currentPiece.getCurrentSquare();
-
-        // Store the captured piece (if any)
-        PieceInterface capturedPiece = targetSquare.getOccupyingPiece();
+        if (!leavesKingSafe(currentPiece, currentPieceColor, targetSquare)) {
+            gameWindowInterface.kingLeftInCheck();
+            return true;
+        }
 
-        makeMoveAndCheckSpecialRules(originalSquare, currentPiece, currentPieceColor, capturedPiece, targetSquare);
+        makeMoveAndCheckSpecialRules(currentPiece, currentPieceColor, targetSquare);
 
         return true;
     }
 
-    private void makeMoveAndCheckSpecialRules(
-            SquareInterface originalSquare, PieceInterface originalPiece, PieceColor originalPieceColor,
-            PieceInterface targetPiece, SquareInterface targetSquare) {
-
-        // Make the move
-        originalPiece.move(targetSquare, boardService);
-
-        // Check if the current player's king is in check after the move
-        if (checkmateDetector.isInCheck(boardService, originalPieceColor)) {
-            // Undo the move
-            originalPiece.move(originalSquare, boardService);
-
-            // Restore the captured piece (if any)
-            if (targetPiece != null) {
-                targetSquare.setOccupyingPiece(targetPiece);
-                if (targetPiece.getPieceColor() == WHITE) {
-                    boardService.getWhitePieces().add(targetPiece);
-                } else {
-                    boardService.getBlackPieces().add(targetPiece);
-                }
-            }
-
-            System.out.println("Invalid move. Your king is in check!");
-        } else {
+    @Override
+    public List<SquareInterface> getLegalTargets(SquareInterface square) {
+        List<SquareInterface> targets = new ArrayList<>();
+        PieceInterface piece = square.getOccupyingPiece();
+        if (piece == null || piece.getPieceColor().equals(WHITE) != boardService.isWhiteTurn()) {
+            return targets;
+        }
 
-            PieceColor opponentColor = originalPieceColor.equals(WHITE) ? BLACK : WHITE;
-            // Check if the opponent is in checkmate
-            if (checkmateDetector.isInCheckmate(boardService, opponentColor)) {
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        Optional<LegalMoveTable> legalMoves = legalMovesFor(piece.getPieceColor());
+        if (legalMoves.isPresent()) {
+            for (long mask = legalMoves.get().getTargets(squareIndex(square)); mask != 0; mask &= mask - 1) {
+                int target = Long.numberOfTrailingZeros(mask);
+                targets.add(squares[Bitboards.squareY(target)][Bitboards.squareX(target)]);
+            }
+            return targets;
+        }
 
-                gameWindowInterface.checkmateOccurred(opponentColor);
+        for (SquareInterface target : piece.getLegalMoves(squares)) {
+            if (leavesKingSafe(piece, piece.getPieceColor(), target)) {
+                targets.add(target);
             }
-            // Check if the opponent is in stalemate
-            else if (checkmateDetector.isInStalemate(boardService, opponentColor)) {
+        }
+        return targets;
+    }
 
+    private void makeMoveAndCheckSpecialRules(
+            PieceInterface originalPiece, PieceColor originalPieceColor, SquareInterface targetSquare) {
+
+        boardService.makeMove(originalPiece, targetSquare);
+
+        PieceColor opponentColor = originalPieceColor.equals(WHITE) ? BLACK : WHITE;
+        // The opponent's table is filled here and reused for their first press and drop
+        Optional<LegalMoveTable> opponentMoves = legalMovesFor(opponentColor);
+        boolean opponentCanMove = opponentMoves
+                .map(LegalMoveTable::hasMoves)
+                .orElseGet(() -> !checkmateDetector.isInCheckmate(boardService, opponentColor)
+                        && !checkmateDetector.isInStalemate(boardService, opponentColor));
+
+        // Check if the opponent is in checkmate or stalemate
+        if (!opponentCanMove) {
+            boolean inCheck = opponentMoves
+                    .map(LegalMoveTable::isInCheck)
+                    .orElseGet(() -> checkmateDetector.isInCheck(boardService, opponentColor));
+            if (inCheck) {
+                gameWindowInterface.checkmateOccurred(opponentColor);
+            } else {
                 gameWindowInterface.stalemateOccurred();
             }
-            // Change the turn to the other player
-            boardService.setWhiteTurn(!boardService.isWhiteTurn());
         }
+        // Draws by the move history; mate on the hundredth ply still counts as mate
+        else if (checkmateDetector.isThreefoldRepetition(boardService)) {
+
+            gameWindowInterface.threefoldRepetitionOccurred();
+        } else if (checkmateDetector.isFiftyMoveDraw(boardService)) {
+
+            gameWindowInterface.fiftyMoveRuleOccurred();
+        }
+        // Change the turn to the other player
+        boardService.setWhiteTurn(!boardService.isWhiteTurn());
+    }
+
+    // Legal moves of the given side in the current position; empty for boards without bitboards
+    private Optional<LegalMoveTable> legalMovesFor(PieceColor pieceColor) {
+        return boardService.getBitboardPosition().map(position -> {
+            legalMoveTable.update(position, Bitboards.colorIndex(pieceColor));
+            return legalMoveTable;
+        });
+    }
+
+    // Fallback for boards without bitboards: try the move and take it back
+    private boolean leavesKingSafe(PieceInterface piece, PieceColor pieceColor, SquareInterface targetSquare) {
+        boardService.makeMove(piece, targetSquare);
+        boolean inCheck = checkmateDetector.isInCheck(boardService, pieceColor);
+        boardService.unmakeMove();
+
+        return !inCheck;
+    }
+
+    private static int squareIndex(SquareInterface square) {
+        return Bitboards.squareIndex(square.getXNum(), square.getYNum());
     }
 }
@@ -6,4 +6,11 @@ public interface GameWindowInterface {
     void checkmateOccurred(PieceColor pieceColor);
 
     void stalemateOccurred();
+
+    void threefoldRepetitionOccurred();
+
+    void fiftyMoveRuleOccurred();
+
+    // A drop the piece could make on an empty board, refused because it leaves its own king in check
+    void kingLeftInCheck();
 }
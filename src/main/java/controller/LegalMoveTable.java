@@ -0,0 +1,67 @@
+package controller;
+
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+import services.bitboard.Zobrist;
+
+import java.util.Arrays;
+
+import static services.bitboard.Bitboards.BLACK;
+import static services.bitboard.Bitboards.squareBit;
+
+/**
+ * The legal moves of the side to move in one position, as a mask of target
+ * squares for every origin square, plus whether that side is in check. The
+ * controller asks it about presses, drops, target highlighting and the end of
+ * the game, and the moves are generated only once per position: the table
+ * remembers the key of the position it was filled for and only refills when
+ * asked about another one.
+ */
+class LegalMoveTable {
+    private final long[] targets = new long[64];
+    private final MoveBuffer buffer = new MoveBuffer();
+
+    private boolean filled;
+    private long key;
+    private boolean hasMoves;
+    private boolean inCheck;
+
+    void update(BitboardPosition position, int colorIndex) {
+        long positionKey = position.getZobristKey() ^ (colorIndex == BLACK ? Zobrist.sideToMoveKey() : 0L);
+        if (filled && positionKey == key) {
+            return;
+        }
+
+        Arrays.fill(targets, 0L);
+        buffer.clear();
+        LegalMoveGenerator.generateLegalMoves(position, colorIndex, buffer);
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+            targets[Moves.from(move)] |= squareBit(Moves.to(move));
+        }
+
+        hasMoves = !buffer.isEmpty();
+        inCheck = BitboardMoveGenerator.isInCheck(position, colorIndex);
+        key = positionKey;
+        filled = true;
+    }
+
+    boolean isLegal(int from, int to) {
+        return (targets[from] & squareBit(to)) != 0;
+    }
+
+    long getTargets(int from) {
+        return targets[from];
+    }
+
+    boolean hasMoves() {
+        return hasMoves;
+    }
+
+    boolean isInCheck() {
+        return inCheck;
+    }
+}
@@ -0,0 +1,42 @@
+package model.board;
+
+import services.bitboard.BitboardPosition;
+import services.enums.PieceColor;
+
+import java.util.Optional;
+
+import static services.enums.PieceColor.BLACK;
+import static services.enums.PieceColor.WHITE;
+
+/**
+ * Board whose position lives in a {@link BitboardPosition}. The square grid is kept
+ * as a view for the Swing layer and the piece strategies; its squares write every
+ * change through to the masks, which move generation and check detection read.
+ * The position keeps attack maps, so check queries are single mask tests.
+ */
+public class BitboardBoard extends Board {
+    private final BitboardPosition position;
+
+    public BitboardBoard() {
+        super();
+        this.position = new BitboardPosition();
+        this.position.trackAttacks();
+    }
+
+    @Override
+    public Optional<BitboardPosition> getBitboardPosition() {
+        return Optional.of(position);
+    }
+
+    @Override
+    public void initializeBoardSquares() {
+        position.clear();
+
+        for (int x = 0; x < 8; x++) {
+            for (int y = 0; y < 8; y++) {
+                PieceColor squareColor = ((x + y) % 2 == 0) ? WHITE : BLACK;
+                getBoardSquareArray()[y][x] = new BitboardSquare(squareColor, x, y, position);
+            }
+        }
+    }
+}
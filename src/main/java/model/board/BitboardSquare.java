@@ -0,0 +1,46 @@
+package model.board;
+
+import lombok.Getter;
+import services.bitboard.BitboardPosition;
+import services.enums.PieceColor;
+import services.strategy.common.PieceInterface;
+
+import static services.bitboard.Bitboards.pieceCode;
+import static services.bitboard.Bitboards.squareIndex;
+
+/**
+ * Square of a {@link BitboardBoard}. Every change of the occupying piece is written
+ * through to the board's {@link BitboardPosition}, so the masks stay in sync no
+ * matter which code path moves the pieces around.
+ */
+@Getter
+public class BitboardSquare extends Square {
+    private final BitboardPosition position;
+    private final int squareIndex;
+
+    public BitboardSquare(PieceColor squareColor, int xNum, int yNum, BitboardPosition position) {
+        super(squareColor, xNum, yNum);
+        this.position = position;
+        this.squareIndex = squareIndex(xNum, yNum);
+    }
+
+    @Override
+    public void setOccupyingPiece(PieceInterface occupyingPiece) {
+        super.setOccupyingPiece(occupyingPiece);
+        syncPosition(occupyingPiece);
+    }
+
+    @Override
+    public void put(PieceInterface piece) {
+        super.put(piece);
+        syncPosition(piece);
+    }
+
+    private void syncPosition(PieceInterface piece) {
+        if (piece == null) {
+            position.removePiece(squareIndex);
+        } else {
+            position.putPiece(squareIndex, pieceCode(piece.getPieceColor(), piece.getPieceType()));
+        }
+    }
+}
@@ -3,6 +3,8 @@ package model.board;
 import lombok.Getter;
 import lombok.Setter;
 import model.pieces.*;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Zobrist;
 import services.board.BoardInterface;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
@@ -28,6 +30,9 @@ public class Board implements BoardInterface {
     private King whiteKing;
     private King blackKing;
 
+    // Zobrist key of the piece placement, updated by Move as pieces leave and enter squares
+    private long zobristHash;
+
     public Board() {
         this.boardSquareArray = new SquareInterface[8][8];
         this.blackPieces = new ArrayList<>();
@@ -36,7 +41,7 @@ public class Board implements BoardInterface {
 
     @Override
     public Optional<PieceInterface> getWhiteKing() {
-        return whitePieces.stream().filter(piece -> piece instanceof King).findFirst();
+        return Optional.ofNullable(whiteKing);
     }
 
     @Override
@@ -46,7 +51,7 @@ public class Board implements BoardInterface {
 
     @Override
     public Optional<PieceInterface> getBlackKing() {
-        return blackPieces.stream().filter(piece -> piece instanceof King).findFirst();
+        return Optional.ofNullable(blackKing);
     }
 
     @Override
@@ -54,6 +59,11 @@ public class Board implements BoardInterface {
         this.blackKing = (King) blackKing;
     }
 
+    @Override
+    public Optional<BitboardPosition> getBitboardPosition() {
+        return Optional.empty();
+    }
+
     @Override
     public void initializePieces() {
 
@@ -92,6 +102,8 @@ public class Board implements BoardInterface {
                 whitePieces.add(boardSquareArray[7 - y][x].getOccupyingPiece());
             }
         }
+
+        zobristHash = Zobrist.compute(boardSquareArray);
     }
 
     @Override
@@ -3,9 +3,9 @@ package model.pieces;
 import model.pieces.common.Piece;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
+import services.enums.PieceType;
 import services.strategy.BishopStrategy;
-
-import java.util.List;
+import services.strategy.common.PieceStrategy;
 
 public class Bishop extends Piece {
 
@@ -14,9 +14,13 @@ public class Bishop extends Piece {
     }
 
     @Override
-    public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
+    public PieceType getPieceType() {
+        return PieceType.BISHOP;
+    }
 
-        return new BishopStrategy(this).getLegalMoves(squareArrayBoard);
+    @Override
+    protected PieceStrategy createStrategy() {
+        return new BishopStrategy(this);
     }
 
 }
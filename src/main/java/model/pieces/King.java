@@ -3,9 +3,9 @@ package model.pieces;
 import model.pieces.common.Piece;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
+import services.enums.PieceType;
 import services.strategy.KingStrategy;
-
-import java.util.List;
+import services.strategy.common.PieceStrategy;
 
 public class King extends Piece {
 
@@ -14,8 +14,13 @@ public class King extends Piece {
     }
 
     @Override
-    public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
-        return new KingStrategy(this).getLegalMoves(squareArrayBoard);
+    public PieceType getPieceType() {
+        return PieceType.KING;
+    }
+
+    @Override
+    protected PieceStrategy createStrategy() {
+        return new KingStrategy(this);
     }
 
 }
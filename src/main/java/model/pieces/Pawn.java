@@ -5,9 +5,9 @@ import model.pieces.common.Piece;
 import services.board.BoardService;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
+import services.enums.PieceType;
 import services.strategy.PawnStrategy;
-
-import java.util.List;
+import services.strategy.common.PieceStrategy;
 
 @Getter
 public class Pawn extends Piece {
@@ -16,6 +16,11 @@ public class Pawn extends Piece {
         super(color, initSq, img_file);
     }
 
+    @Override
+    public PieceType getPieceType() {
+        return PieceType.PAWN;
+    }
+
     @Override
     public boolean move(SquareInterface targetSquare, BoardService boardService) {
         boolean b = super.move(targetSquare, boardService);
@@ -24,8 +29,8 @@ public class Pawn extends Piece {
     }
 
     @Override
-    public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
-        return new PawnStrategy(this).getLegalMoves(squareArrayBoard);
+    protected PieceStrategy createStrategy() {
+        return new PawnStrategy(this);
     }
 
     public void dummy() {
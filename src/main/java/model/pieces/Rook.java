@@ -3,9 +3,9 @@ package model.pieces;
 import model.pieces.common.Piece;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
+import services.enums.PieceType;
 import services.strategy.RookStrategy;
-
-import java.util.List;
+import services.strategy.common.PieceStrategy;
 
 public class Rook extends Piece {
 
@@ -14,9 +14,13 @@ public class Rook extends Piece {
     }
 
     @Override
-    public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
+    public PieceType getPieceType() {
+        return PieceType.ROOK;
+    }
 
-        return new RookStrategy(this).getLegalMoves(squareArrayBoard);
+    @Override
+    protected PieceStrategy createStrategy() {
+        return new RookStrategy(this);
     }
 
 }
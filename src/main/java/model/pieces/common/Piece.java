@@ -1,12 +1,18 @@
 package model.pieces.common;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import model.board.BitboardSquare;
+import services.bitboard.BitboardPosition;
+import services.bitboard.MoveBuffer;
+import services.bitboard.MoveListAdapter;
 import services.board.BoardService;
 import services.board.Move;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
 import services.strategy.common.PieceInterface;
+import services.strategy.common.PieceStrategy;
 import services.utils.ImageReaderUtil;
 import services.utils.ImageReaderUtilImpl;
 import services.utils.exceptions.ImageNotFoundException;
@@ -17,11 +23,23 @@ import java.util.List;
 @Getter
 @Setter
 public abstract class Piece implements PieceInterface {
+    // A queen in the middle of an empty board has the most moves of any piece
+    private static final int MAX_PIECE_MOVES = 27;
+
     private final PieceColor pieceColor;
     private SquareInterface currentSquare;
     private Image image;
     private boolean wasMoved;
 
+    // Created on first use and reused for every later move generation
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private PieceStrategy strategy;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final MoveBuffer moveBuffer = new MoveBuffer(MAX_PIECE_MOVES);
+
     public Piece(PieceColor pieceColor, SquareInterface initSq, String img_file) {
         this.pieceColor = pieceColor;
         this.currentSquare = initSq;
@@ -41,6 +59,28 @@ public abstract class Piece implements PieceInterface {
         return Move.makeMove(this, targetSquare, boardService);
     }
 
+    public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
+        // On a bitboard-backed board, let the strategy fill the piece's buffer and adapt the result to squares
+        if (currentSquare instanceof BitboardSquare bitboardSquare) {
+            moveBuffer.clear();
+            generateMoves(bitboardSquare.getPosition(), moveBuffer);
+            return MoveListAdapter.toTargetSquares(moveBuffer, squareArrayBoard);
+        }
+
+        return getStrategy().getLegalMoves(squareArrayBoard);
+    }
+
+    public void generateMoves(BitboardPosition position, MoveBuffer buffer) {
+        getStrategy().generateMoves(position, buffer);
+    }
+
+    private PieceStrategy getStrategy() {
+        if (strategy == null) {
+            strategy = createStrategy();
+        }
+        return strategy;
+    }
+
     // No implementation, to be implemented by each subclass
-    public abstract List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard);
+    protected abstract PieceStrategy createStrategy();
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package services.bitboard;
+
+import java.util.Arrays;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Squares attacked by each side and, for every square, the number of pieces of
+ * each side attacking it. {@link BitboardPosition} keeps them current as pieces
+ * are put and removed, so "is this square attacked" becomes a single mask test.
+ * <p>
+ * Putting or removing a piece adds or removes its own attacks, and changes the
+ * attacks of the sliders whose rays run through that square: a piece landing
+ * on the square cuts their rays short, a piece leaving it lets them run on.
+ * Only those sliders are recomputed; every other piece's attacks stay as they
+ * were. As everywhere else, a square counts as attacked whatever stands on it,
+ * and a piece does not attack through another piece (no x-rays).
+ */
+final class AttackMaps {
+    private final long[] attacked = new long[2];
+    // Indexed by colorIndex * 64 + square
+    private final int[] attackerCounts = new int[2 * 64];
+
+    void clear() {
+        Arrays.fill(attacked, 0L);
+        Arrays.fill(attackerCounts, 0);
+    }
+
+    // Recomputes everything from the placement, for positions that start tracking late
+    void rebuild(BitboardPosition position) {
+        clear();
+        long occupancy = position.getOccupancy();
+        for (long pieces = occupancy; pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            update(position.getPieceAt(square), square, occupancy, 1);
+        }
+    }
+
+    long getAttackedSquares(int colorIndex) {
+        return attacked[colorIndex];
+    }
+
+    int getAttackerCount(int colorIndex, int square) {
+        return attackerCounts[colorIndex * 64 + square];
+    }
+
+    // Sliders of both sides whose rays reach the square; the square's own occupant does not affect them
+    static long slidersThrough(BitboardPosition position, int square) {
+        long occupancy = position.getOccupancy();
+        long queens = position.getPieces(WHITE, QUEEN) | position.getPieces(BLACK, QUEEN);
+        long diagonal = position.getPieces(WHITE, BISHOP) | position.getPieces(BLACK, BISHOP) | queens;
+        long straight = position.getPieces(WHITE, ROOK) | position.getPieces(BLACK, ROOK) | queens;
+
+        return (MagicBitboards.bishopAttacks(square, occupancy) & diagonal)
+                | (MagicBitboards.rookAttacks(square, occupancy) & straight);
+    }
+
+    // Adds (delta 1) or takes away (delta -1) the attacks of every slider in the mask
+    void updateSliders(BitboardPosition position, long sliders, long occupancy, int delta) {
+        for (; sliders != 0; sliders &= sliders - 1) {
+            int square = Long.numberOfTrailingZeros(sliders);
+            update(position.getPieceAt(square), square, occupancy, delta);
+        }
+    }
+
+    // Adds (delta 1) or takes away (delta -1) the attacks of one piece
+    void update(int pieceCode, int square, long occupancy, int delta) {
+        int colorIndex = codeColor(pieceCode);
+        int offset = colorIndex * 64;
+        long targets = BitboardMoveGenerator.attacks(pieceCode, square, occupancy);
+
+        if (delta > 0) {
+            attacked[colorIndex] |= targets;
+        }
+        for (; targets != 0; targets &= targets - 1) {
+            int target = Long.numberOfTrailingZeros(targets);
+            attackerCounts[offset + target] += delta;
+            if (attackerCounts[offset + target] == 0) {
+                attacked[colorIndex] &= ~squareBit(target);
+            }
+        }
+    }
+}
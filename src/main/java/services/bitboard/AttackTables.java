@@ -0,0 +1,92 @@
+package services.bitboard;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Per-square attack masks for the non-sliding pieces, built once when the class
+ * is loaded. A lookup replaces the direction loops of the knight, king and pawn
+ * move generation; callers mask the result with the occupancy they care about.
+ * The between and line tables describe the geometry of pins and checks.
+ */
+public final class AttackTables {
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            long bit = squareBit(square);
+
+            KNIGHT_ATTACKS[square] = ((bit >>> 17) & NOT_FILE_H) | ((bit >>> 15) & NOT_FILE_A)
+                    | ((bit >>> 10) & NOT_FILE_GH) | ((bit >>> 6) & NOT_FILE_AB)
+                    | ((bit << 6) & NOT_FILE_GH) | ((bit << 10) & NOT_FILE_AB)
+                    | ((bit << 15) & NOT_FILE_H) | ((bit << 17) & NOT_FILE_A);
+
+            long row = bit | shiftLeft(bit) | shiftRight(bit);
+            KING_ATTACKS[square] = (row | shiftUp(row) | shiftDown(row)) & ~bit;
+
+            for (int colorIndex = WHITE; colorIndex <= BLACK; colorIndex++) {
+                long forward = shiftForward(bit, colorIndex);
+                PAWN_ATTACKS[colorIndex][square] = shiftLeft(forward) | shiftRight(forward);
+            }
+        }
+
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                long fromBit = squareBit(from);
+                long toBit = squareBit(to);
+
+                if (from != to && (MagicBitboards.rookAttacks(from, 0L) & toBit) != 0) {
+                    BETWEEN[from][to] = MagicBitboards.rookAttacks(from, toBit) & MagicBitboards.rookAttacks(to, fromBit);
+                    LINE[from][to] = (MagicBitboards.rookAttacks(from, 0L) & MagicBitboards.rookAttacks(to, 0L)) | fromBit | toBit;
+                } else if (from != to && (MagicBitboards.bishopAttacks(from, 0L) & toBit) != 0) {
+                    BETWEEN[from][to] = MagicBitboards.bishopAttacks(from, toBit) & MagicBitboards.bishopAttacks(to, fromBit);
+                    LINE[from][to] = (MagicBitboards.bishopAttacks(from, 0L) & MagicBitboards.bishopAttacks(to, 0L)) | fromBit | toBit;
+                }
+            }
+        }
+    }
+
+    private AttackTables() {
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    // Squares a pawn of the given color standing on the square attacks
+    public static long pawnAttacks(int square, int colorIndex) {
+        return PAWN_ATTACKS[colorIndex][square];
+    }
+
+    // Squares strictly between two squares on a common rank, file or diagonal; empty otherwise
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    // The whole rank, file or diagonal through both squares; empty when they are not aligned
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    // Knights of any color that attack the given square
+    public static long knightAttackers(int square, long knights) {
+        return KNIGHT_ATTACKS[square] & knights;
+    }
+
+    public static long kingAttackers(int square, long kings) {
+        return KING_ATTACKS[square] & kings;
+    }
+
+    // Pawns of the given color that attack the given square
+    public static long pawnAttackers(int square, int pawnColorIndex, long pawns) {
+        return PAWN_ATTACKS[opponent(pawnColorIndex)][square] & pawns;
+    }
+}
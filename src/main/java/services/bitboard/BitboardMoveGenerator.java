@@ -0,0 +1,180 @@
+package services.bitboard;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Move generation and check detection working directly on the masks of a
+ * {@link BitboardPosition}, without going through squares or piece objects.
+ * Follows the same movement rules as the strategies in {@code services.strategy}.
+ */
+public final class BitboardMoveGenerator {
+
+    private BitboardMoveGenerator() {
+    }
+
+    // Squares attacked by the given piece, regardless of what stands on them
+    public static long attacks(int pieceCode, int square, long occupancy) {
+        switch (codeType(pieceCode)) {
+            case PAWN:
+                return AttackTables.pawnAttacks(square, codeColor(pieceCode));
+            case KNIGHT:
+                return AttackTables.knightAttacks(square);
+            case BISHOP:
+                return MagicBitboards.bishopAttacks(square, occupancy);
+            case ROOK:
+                return MagicBitboards.rookAttacks(square, occupancy);
+            case QUEEN:
+                return MagicBitboards.queenAttacks(square, occupancy);
+            default:
+                return AttackTables.kingAttacks(square);
+        }
+    }
+
+    public static long pawnPushes(int square, int colorIndex, long occupancy) {
+        long single = shiftForward(squareBit(square), colorIndex) & ~occupancy;
+        if (single == 0) {
+            return 0L;
+        }
+
+        int startRank = colorIndex == WHITE ? 6 : 1;
+        if (squareY(square) != startRank) {
+            return single;
+        }
+
+        return single | (shiftForward(single, colorIndex) & ~occupancy);
+    }
+
+    // Pseudo-legal target squares of the piece standing on the given square
+    public static long getTargets(BitboardPosition position, int square) {
+        int pieceCode = position.getPieceAt(square);
+        if (pieceCode == NO_PIECE) {
+            return 0L;
+        }
+
+        int colorIndex = codeColor(pieceCode);
+        long occupancy = position.getOccupancy();
+
+        if (codeType(pieceCode) == PAWN) {
+            return pawnPushes(square, colorIndex, occupancy)
+                    | (AttackTables.pawnAttacks(square, colorIndex) & position.getColorOccupancy(opponent(colorIndex)));
+        }
+
+        return attacks(pieceCode, square, occupancy) & ~position.getColorOccupancy(colorIndex);
+    }
+
+    // Appends the pseudo-legal moves of the piece on the given square to the buffer
+    public static void generatePieceMoves(BitboardPosition position, int from, MoveBuffer buffer) {
+        int pieceCode = position.getPieceAt(from);
+        long targets = getTargets(position, from);
+
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+
+            int flags = codeType(pieceCode) == PAWN && Math.abs(to - from) == 16 ? Moves.FLAG_DOUBLE_PUSH : 0;
+            buffer.add(Moves.encode(from, to, pieceCode, position.getPieceAt(to), flags));
+        }
+    }
+
+    // Appends the pseudo-legal moves of every piece of the given side to the buffer
+    public static void generateMoves(BitboardPosition position, int colorIndex, MoveBuffer buffer) {
+        long pieces = position.getColorOccupancy(colorIndex);
+
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            generatePieceMoves(position, from, buffer);
+        }
+    }
+
+    // Legal steps of the king on the given square: onto squares the opponent does not attack
+    public static void generateKingMoves(BitboardPosition position, int from, MoveBuffer buffer) {
+        int kingCode = position.getPieceAt(from);
+        long targets = AttackTables.kingAttacks(from) & ~position.getColorOccupancy(codeColor(kingCode));
+        targets &= ~getKingDangerSquares(position, codeColor(kingCode), targets);
+
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            buffer.add(Moves.encode(from, to, kingCode, position.getPieceAt(to), 0));
+        }
+    }
+
+    /**
+     * The candidate squares the king of the given side may not step onto. The
+     * king is taken off the board first, so a square behind it on the ray of a
+     * slider that checks it counts as attacked. With attack maps this is one
+     * mask plus the rays of any sliding checkers; without them every candidate
+     * is looked at on its own.
+     */
+    public static long getKingDangerSquares(BitboardPosition position, int colorIndex, long candidates) {
+        int kingSquare = position.getKingSquare(colorIndex);
+        int them = opponent(colorIndex);
+        long occupancy = position.getOccupancy();
+
+        if (position.isTrackingAttacks()) {
+            long danger = position.getAttackedSquares(them);
+            if (kingSquare != NO_SQUARE && (danger & squareBit(kingSquare)) != 0) {
+                long queens = position.getPieces(them, QUEEN);
+                long sliders = getAttackers(position, kingSquare, them, occupancy)
+                        & (position.getPieces(them, BISHOP) | position.getPieces(them, ROOK) | queens);
+                for (; sliders != 0; sliders &= sliders - 1) {
+                    int checker = Long.numberOfTrailingZeros(sliders);
+                    danger |= AttackTables.line(kingSquare, checker) & ~squareBit(checker);
+                }
+            }
+            return danger & candidates;
+        }
+
+        long occupancyWithoutKing = kingSquare == NO_SQUARE ? occupancy : occupancy & ~squareBit(kingSquare);
+        long danger = 0L;
+        for (long squares = candidates; squares != 0; squares &= squares - 1) {
+            int square = Long.numberOfTrailingZeros(squares);
+            if (getAttackers(position, square, them, occupancyWithoutKing) != 0) {
+                danger |= squareBit(square);
+            }
+        }
+        return danger;
+    }
+
+    public static long getAttackedSquares(BitboardPosition position, int colorIndex) {
+        long attacked = 0L;
+        long occupancy = position.getOccupancy();
+        long pieces = position.getColorOccupancy(colorIndex);
+
+        while (pieces != 0) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            attacked |= attacks(position.getPieceAt(square), square, occupancy);
+        }
+
+        return attacked;
+    }
+
+    // Reads the attack maps if the position keeps them; otherwise looks outward from the square for each kind of attacker
+    public static boolean isSquareAttacked(BitboardPosition position, int square, int byColorIndex) {
+        if (position.isTrackingAttacks()) {
+            return (position.getAttackedSquares(byColorIndex) & squareBit(square)) != 0;
+        }
+        return getAttackers(position, square, byColorIndex, position.getOccupancy()) != 0;
+    }
+
+    public static long getAttackers(BitboardPosition position, int square, int byColorIndex, long occupancy) {
+        long queens = position.getPieces(byColorIndex, QUEEN);
+
+        return AttackTables.pawnAttackers(square, byColorIndex, position.getPieces(byColorIndex, PAWN))
+                | AttackTables.knightAttackers(square, position.getPieces(byColorIndex, KNIGHT))
+                | AttackTables.kingAttackers(square, position.getPieces(byColorIndex, KING))
+                | (MagicBitboards.bishopAttacks(square, occupancy) & (position.getPieces(byColorIndex, BISHOP) | queens))
+                | (MagicBitboards.rookAttacks(square, occupancy) & (position.getPieces(byColorIndex, ROOK) | queens));
+    }
+
+    public static boolean isInCheck(BitboardPosition position, int colorIndex) {
+        int kingSquare = position.getKingSquare(colorIndex);
+        if (kingSquare == NO_SQUARE) {
+            return false;
+        }
+
+        return isSquareAttacked(position, kingSquare, opponent(colorIndex));
+    }
+}
@@ -0,0 +1,262 @@
+package services.bitboard;
+
+import services.board.SquareInterface;
+
+import java.util.Arrays;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Piece placement stored as one 64-bit mask per piece type and color, plus a
+ * per-color and a total occupancy mask. A small mailbox answers "what stands on
+ * this square" without scanning the twelve piece masks. King squares are cached
+ * and kept up to date as pieces are put and removed, as is the Zobrist key of
+ * the placement (see {@link Zobrist}), a second key over the pawns alone, and
+ * the running evaluation totals: the
+ * middlegame and endgame piece-square sums and the game phase (see
+ * {@link PieceSquareTables}). Every make and unmake goes through putPiece and
+ * removePiece, so none of them is ever recomputed from scratch.
+ * <p>
+ * A position can also keep {@link AttackMaps}: the squares each side attacks
+ * and how many pieces attack each square. Keeping them costs a few slider
+ * recomputations per change, which pays off for a board that is mostly asked
+ * about checks, but not for a search that makes millions of moves. They are
+ * therefore switched on per position with {@link #trackAttacks()} and are not
+ * carried over to copies; without them the same questions are answered by
+ * looking outward from the square.
+ */
+public class BitboardPosition {
+    private final long[] pieceBitboards;
+    private final long[] colorOccupancy;
+    private final int[] mailbox;
+    private final int[] kingSquares;
+    private long occupancy;
+    private long zobristKey;
+    private long pawnKey;
+    private int middlegameScore;
+    private int endgameScore;
+    private int phase;
+    private AttackMaps attackMaps;
+
+    public BitboardPosition() {
+        this.pieceBitboards = new long[2 * PIECE_TYPES];
+        this.colorOccupancy = new long[2];
+        this.mailbox = new int[64];
+        this.kingSquares = new int[]{NO_SQUARE, NO_SQUARE};
+        Arrays.fill(mailbox, NO_PIECE);
+    }
+
+    private BitboardPosition(BitboardPosition other) {
+        this.pieceBitboards = other.pieceBitboards.clone();
+        this.colorOccupancy = other.colorOccupancy.clone();
+        this.mailbox = other.mailbox.clone();
+        this.kingSquares = other.kingSquares.clone();
+        this.occupancy = other.occupancy;
+        this.zobristKey = other.zobristKey;
+        this.pawnKey = other.pawnKey;
+        this.middlegameScore = other.middlegameScore;
+        this.endgameScore = other.endgameScore;
+        this.phase = other.phase;
+    }
+
+    // Builds the masks from a square grid, for boards that do not keep a position of their own
+    public static BitboardPosition fromSquares(SquareInterface[][] squares) {
+        BitboardPosition position = new BitboardPosition();
+        for (SquareInterface[] row : squares) {
+            for (SquareInterface square : row) {
+                if (square.isOccupied()) {
+                    position.putPiece(squareIndex(square.getXNum(), square.getYNum()),
+                            pieceCode(square.getOccupyingPiece().getPieceColor(), square.getOccupyingPiece().getPieceType()));
+                }
+            }
+        }
+        return position;
+    }
+
+    // The copy does not keep attack maps, whether or not this position does
+    public BitboardPosition copy() {
+        return new BitboardPosition(this);
+    }
+
+    // From now on keeps the attack maps current with every change
+    public void trackAttacks() {
+        if (attackMaps == null) {
+            attackMaps = new AttackMaps();
+            attackMaps.rebuild(this);
+        }
+    }
+
+    public boolean isTrackingAttacks() {
+        return attackMaps != null;
+    }
+
+    public void putPiece(int square, int pieceCode) {
+        if (mailbox[square] != NO_PIECE) {
+            removePiece(square);
+        }
+
+        long sliders = 0L;
+        if (attackMaps != null) {
+            sliders = AttackMaps.slidersThrough(this, square);
+            attackMaps.updateSliders(this, sliders, occupancy, -1);
+        }
+
+        long bit = squareBit(square);
+        pieceBitboards[pieceCode] |= bit;
+        colorOccupancy[codeColor(pieceCode)] |= bit;
+        occupancy |= bit;
+        mailbox[square] = pieceCode;
+        zobristKey ^= Zobrist.pieceKey(pieceCode, square);
+        middlegameScore += PieceSquareTables.middlegame(pieceCode, square);
+        endgameScore += PieceSquareTables.endgame(pieceCode, square);
+        phase += PieceSquareTables.phaseWeight(pieceCode);
+
+        if (codeType(pieceCode) == PAWN) {
+            pawnKey ^= Zobrist.pieceKey(pieceCode, square);
+        } else if (codeType(pieceCode) == KING) {
+            kingSquares[codeColor(pieceCode)] = square;
+        }
+
+        if (attackMaps != null) {
+            attackMaps.updateSliders(this, sliders, occupancy, 1);
+            attackMaps.update(pieceCode, square, occupancy, 1);
+        }
+    }
+
+    public int removePiece(int square) {
+        int pieceCode = mailbox[square];
+        if (pieceCode == NO_PIECE) {
+            return NO_PIECE;
+        }
+
+        long sliders = 0L;
+        if (attackMaps != null) {
+            attackMaps.update(pieceCode, square, occupancy, -1);
+            sliders = AttackMaps.slidersThrough(this, square);
+            attackMaps.updateSliders(this, sliders, occupancy, -1);
+        }
+
+        long mask = ~squareBit(square);
+        pieceBitboards[pieceCode] &= mask;
+        colorOccupancy[codeColor(pieceCode)] &= mask;
+        occupancy &= mask;
+        mailbox[square] = NO_PIECE;
+        zobristKey ^= Zobrist.pieceKey(pieceCode, square);
+        middlegameScore -= PieceSquareTables.middlegame(pieceCode, square);
+        endgameScore -= PieceSquareTables.endgame(pieceCode, square);
+        phase -= PieceSquareTables.phaseWeight(pieceCode);
+
+        if (codeType(pieceCode) == PAWN) {
+            pawnKey ^= Zobrist.pieceKey(pieceCode, square);
+        } else if (codeType(pieceCode) == KING && kingSquares[codeColor(pieceCode)] == square) {
+            kingSquares[codeColor(pieceCode)] = NO_SQUARE;
+        }
+
+        if (attackMaps != null) {
+            attackMaps.updateSliders(this, sliders, occupancy, 1);
+        }
+        return pieceCode;
+    }
+
+    public void makeMove(int move) {
+        int to = Moves.to(move);
+        if (Moves.isCapture(move)) {
+            removePiece(to);
+        }
+        removePiece(Moves.from(move));
+        putPiece(to, Moves.piece(move));
+    }
+
+    // Reverts makeMove; the encoded move carries everything needed, so nothing else is stored
+    public void unmakeMove(int move) {
+        int to = Moves.to(move);
+        removePiece(to);
+        putPiece(Moves.from(move), Moves.piece(move));
+        if (Moves.isCapture(move)) {
+            putPiece(to, Moves.captured(move));
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(colorOccupancy, 0L);
+        Arrays.fill(mailbox, NO_PIECE);
+        Arrays.fill(kingSquares, NO_SQUARE);
+        occupancy = 0L;
+        zobristKey = 0L;
+        pawnKey = 0L;
+        middlegameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+        if (attackMaps != null) {
+            attackMaps.clear();
+        }
+    }
+
+    public int getPieceAt(int square) {
+        return mailbox[square];
+    }
+
+    public boolean isOccupied(int square) {
+        return mailbox[square] != NO_PIECE;
+    }
+
+    public long getPieces(int pieceCode) {
+        return pieceBitboards[pieceCode];
+    }
+
+    public long getPieces(int colorIndex, int typeIndex) {
+        return pieceBitboards[pieceCode(colorIndex, typeIndex)];
+    }
+
+    public long getColorOccupancy(int colorIndex) {
+        return colorOccupancy[colorIndex];
+    }
+
+    public long getOccupancy() {
+        return occupancy;
+    }
+
+    // Placement only; callers add Zobrist.sideToMoveKey() when black is to move
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    // Zobrist key of the pawns of both sides; only pawn moves and pawn captures change it
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    // White minus black, material included
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    // MAX_PHASE with all pieces on the board, falling towards 0 as pieces are traded
+    public int getPhase() {
+        return phase;
+    }
+
+    // Squares attacked by the side's pieces, whatever stands on them
+    public long getAttackedSquares(int colorIndex) {
+        return attackMaps != null
+                ? attackMaps.getAttackedSquares(colorIndex)
+                : BitboardMoveGenerator.getAttackedSquares(this, colorIndex);
+    }
+
+    // Number of the side's pieces attacking the square, not counting pieces behind them
+    public int getAttackerCount(int colorIndex, int square) {
+        return attackMaps != null
+                ? attackMaps.getAttackerCount(colorIndex, square)
+                : Long.bitCount(BitboardMoveGenerator.getAttackers(this, square, colorIndex, occupancy));
+    }
+
+    // Returns NO_SQUARE when the side has no king on the board
+    public int getKingSquare(int colorIndex) {
+        return kingSquares[colorIndex];
+    }
+}
@@ -0,0 +1,125 @@
+package services.bitboard;
+
+import services.enums.PieceColor;
+import services.enums.PieceType;
+
+/**
+ * Constants and helpers shared by the bitboard code.
+ * <p>
+ * Squares are indexed as {@code y * 8 + x}, using the same {@code xNum}/{@code yNum}
+ * coordinates as {@link services.board.SquareInterface}: index 0 is the top-left
+ * square of the board array (black's back rank), index 63 the bottom-right one.
+ * Bit {@code n} of a bitboard is set when square {@code n} belongs to the set.
+ */
+public final class Bitboards {
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    // Piece type indices, matching the ordinals of PieceType
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int PIECE_TYPES = 6;
+    public static final int NO_PIECE = -1;
+    public static final int NO_SQUARE = 64;
+
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long NOT_FILE_A = ~FILE_A;
+    public static final long NOT_FILE_H = ~FILE_H;
+    public static final long NOT_FILE_AB = ~(FILE_A | (FILE_A << 1));
+    public static final long NOT_FILE_GH = ~(FILE_H | (FILE_H >>> 1));
+
+    private static final PieceType[] PIECE_TYPE_VALUES = PieceType.values();
+
+    private Bitboards() {
+    }
+
+    public static int squareIndex(int x, int y) {
+        return (y << 3) | x;
+    }
+
+    public static int squareX(int square) {
+        return square & 7;
+    }
+
+    public static int squareY(int square) {
+        return square >>> 3;
+    }
+
+    // Algebraic name of the square, "a8" for index 0 and "h1" for index 63
+    public static String squareName(int square) {
+        return "" + (char) ('a' + squareX(square)) + (char) ('8' - squareY(square));
+    }
+
+    public static int parseSquare(String name) {
+        return squareIndex(name.charAt(0) - 'a', '8' - name.charAt(1));
+    }
+
+    public static long squareBit(int square) {
+        return 1L << square;
+    }
+
+    public static long rankMask(int y) {
+        return 0xFFL << (y << 3);
+    }
+
+    public static int colorIndex(PieceColor color) {
+        return color == PieceColor.WHITE ? WHITE : BLACK;
+    }
+
+    public static PieceColor pieceColor(int colorIndex) {
+        return colorIndex == WHITE ? PieceColor.WHITE : PieceColor.BLACK;
+    }
+
+    public static int opponent(int colorIndex) {
+        return colorIndex ^ 1;
+    }
+
+    public static int pieceCode(int colorIndex, int typeIndex) {
+        return colorIndex * PIECE_TYPES + typeIndex;
+    }
+
+    public static int pieceCode(PieceColor color, PieceType type) {
+        return pieceCode(colorIndex(color), type.ordinal());
+    }
+
+    public static int codeColor(int pieceCode) {
+        return pieceCode / PIECE_TYPES;
+    }
+
+    public static int codeType(int pieceCode) {
+        return pieceCode % PIECE_TYPES;
+    }
+
+    public static PieceType pieceType(int typeIndex) {
+        return PIECE_TYPE_VALUES[typeIndex];
+    }
+
+    // Shifts towards y - 1 (white's forward direction) and y + 1 (black's forward direction)
+    public static long shiftUp(long bitboard) {
+        return bitboard >>> 8;
+    }
+
+    public static long shiftDown(long bitboard) {
+        return bitboard << 8;
+    }
+
+    public static long shiftRight(long bitboard) {
+        return (bitboard << 1) & NOT_FILE_A;
+    }
+
+    public static long shiftLeft(long bitboard) {
+        return (bitboard >>> 1) & NOT_FILE_H;
+    }
+
+    // Moves a bitboard one step forward for the given side
+    public static long shiftForward(long bitboard, int colorIndex) {
+        return colorIndex == WHITE ? shiftUp(bitboard) : shiftDown(bitboard);
+    }
+}
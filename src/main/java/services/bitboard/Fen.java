@@ -0,0 +1,93 @@
+package services.bitboard;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Reads and writes the piece placement and side-to-move fields of a FEN string.
+ * Castling and en passant are not part of these rules, so those fields are
+ * written as "-" and ignored when reading.
+ */
+public final class Fen {
+
+    public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1";
+
+    private static final String PIECE_LETTERS = "pnbrqk";
+
+    private Fen() {
+    }
+
+    /**
+     * Replaces the contents of the position with the placement from the FEN string.
+     * The first rank in the string is y = 0, matching the square indexing.
+     *
+     * @return the color index of the side to move
+     * @throws IllegalArgumentException when the placement cannot be read or the
+     *                                  side to move is not "w" or "b"
+     */
+    public static int load(String fen, BitboardPosition position) {
+        String[] fields = fen.trim().split("\\s+");
+        String[] ranks = fields[0].split("/");
+        if (ranks.length != 8) {
+            throw new IllegalArgumentException("Expected 8 ranks in FEN: " + fen);
+        }
+
+        position.clear();
+        for (int y = 0; y < 8; y++) {
+            int x = 0;
+            for (char symbol : ranks[y].toCharArray()) {
+                if (Character.isDigit(symbol)) {
+                    x += symbol - '0';
+                    continue;
+                }
+
+                int typeIndex = PIECE_LETTERS.indexOf(Character.toLowerCase(symbol));
+                if (typeIndex < 0 || x > 7) {
+                    throw new IllegalArgumentException("Invalid placement in FEN: " + fen);
+                }
+
+                int colorIndex = Character.isUpperCase(symbol) ? WHITE : BLACK;
+                position.putPiece(squareIndex(x, y), pieceCode(colorIndex, typeIndex));
+                x++;
+            }
+
+            if (x != 8) {
+                throw new IllegalArgumentException("Rank " + (8 - y) + " does not have 8 squares in FEN: " + fen);
+            }
+        }
+
+        if (fields.length < 2 || !(fields[1].equals("w") || fields[1].equals("b"))) {
+            throw new IllegalArgumentException("Expected side to move 'w' or 'b' in FEN: " + fen);
+        }
+        return fields[1].equals("b") ? BLACK : WHITE;
+    }
+
+    public static String toFen(BitboardPosition position, int sideToMove) {
+        StringBuilder builder = new StringBuilder();
+        for (int y = 0; y < 8; y++) {
+            int empty = 0;
+            for (int x = 0; x < 8; x++) {
+                int pieceCode = position.getPieceAt(squareIndex(x, y));
+                if (pieceCode == NO_PIECE) {
+                    empty++;
+                    continue;
+                }
+
+                if (empty > 0) {
+                    builder.append(empty);
+                    empty = 0;
+                }
+                char letter = PIECE_LETTERS.charAt(codeType(pieceCode));
+                builder.append(codeColor(pieceCode) == WHITE ? Character.toUpperCase(letter) : letter);
+            }
+
+            if (empty > 0) {
+                builder.append(empty);
+            }
+            if (y < 7) {
+                builder.append('/');
+            }
+        }
+
+        return builder.append(sideToMove == WHITE ? " w" : " b").append(" - - 0 1").toString();
+    }
+}
@@ -0,0 +1,140 @@
+package services.bitboard;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Generates strictly legal moves without trying them on the board.
+ * <p>
+ * Checkers and pinned pieces are worked out once per position. A single check
+ * restricts every non-king move to the check mask (capturing the checker or
+ * blocking its ray), a double check leaves only king moves, and a pinned piece
+ * may only move along the line through its king. King moves are tested against
+ * the opponent's attacks with the king taken off the board, so it cannot step
+ * back along the ray of a slider that checks it; positions that keep attack
+ * maps answer both questions from the maps.
+ * <p>
+ * The capture-only variant runs the same code with the targets restricted to
+ * enemy pieces, so quiet moves are never generated in the first place.
+ */
+public final class LegalMoveGenerator {
+
+    private LegalMoveGenerator() {
+    }
+
+    public static void generateLegalMoves(BitboardPosition position, int colorIndex, MoveBuffer buffer) {
+        generate(position, colorIndex, buffer, ~0L);
+    }
+
+    public static void generateLegalCaptures(BitboardPosition position, int colorIndex, MoveBuffer buffer) {
+        generate(position, colorIndex, buffer, position.getColorOccupancy(opponent(colorIndex)));
+    }
+
+    public static boolean hasLegalMove(BitboardPosition position, int colorIndex) {
+        return generate(position, colorIndex, null, ~0L) > 0;
+    }
+
+    public static int countLegalMoves(BitboardPosition position, int colorIndex) {
+        return generate(position, colorIndex, null, ~0L);
+    }
+
+    // Pieces of the given side that may not leave the line to their own king
+    public static long getPinnedPieces(BitboardPosition position, int colorIndex) {
+        int kingSquare = position.getKingSquare(colorIndex);
+        if (kingSquare == NO_SQUARE) {
+            return 0L;
+        }
+
+        int them = opponent(colorIndex);
+        long occupancy = position.getOccupancy();
+        long enemies = position.getColorOccupancy(them);
+        long queens = position.getPieces(them, QUEEN);
+
+        // Enemy sliders that would attack the king if only enemy pieces could block
+        long snipers = (MagicBitboards.rookAttacks(kingSquare, enemies) & (position.getPieces(them, ROOK) | queens))
+                | (MagicBitboards.bishopAttacks(kingSquare, enemies) & (position.getPieces(them, BISHOP) | queens));
+
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniperSquare = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+
+            long blockers = AttackTables.between(kingSquare, sniperSquare) & occupancy;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & position.getColorOccupancy(colorIndex);
+            }
+        }
+
+        return pinned;
+    }
+
+    // Writes the legal moves landing on the target mask into the buffer, or only counts them when the buffer is null
+    private static int generate(BitboardPosition position, int colorIndex, MoveBuffer buffer, long targetMask) {
+        int kingSquare = position.getKingSquare(colorIndex);
+        int them = opponent(colorIndex);
+        long own = position.getColorOccupancy(colorIndex);
+        long occupancy = position.getOccupancy();
+        int count = 0;
+
+        long checkMask = targetMask;
+        long pinned = 0L;
+
+        if (kingSquare != NO_SQUARE) {
+            // With attack maps a king nobody attacks needs no further look
+            long checkers = position.isTrackingAttacks() && position.getAttackerCount(them, kingSquare) == 0
+                    ? 0L
+                    : BitboardMoveGenerator.getAttackers(position, kingSquare, them, occupancy);
+            int kingCode = pieceCode(colorIndex, KING);
+
+            long kingTargets = AttackTables.kingAttacks(kingSquare) & ~own & targetMask;
+            kingTargets &= ~BitboardMoveGenerator.getKingDangerSquares(position, colorIndex, kingTargets);
+            while (kingTargets != 0) {
+                int to = Long.numberOfTrailingZeros(kingTargets);
+                kingTargets &= kingTargets - 1;
+
+                if (buffer != null) {
+                    buffer.add(Moves.encode(kingSquare, to, kingCode, position.getPieceAt(to), 0));
+                }
+                count++;
+            }
+
+            if (Long.bitCount(checkers) > 1) {
+                return count;
+            }
+
+            if (checkers != 0) {
+                int checkerSquare = Long.numberOfTrailingZeros(checkers);
+                checkMask &= checkers | AttackTables.between(kingSquare, checkerSquare);
+            }
+
+            pinned = getPinnedPieces(position, colorIndex);
+        }
+
+        long pieces = own & ~position.getPieces(colorIndex, KING);
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+
+            long targets = BitboardMoveGenerator.getTargets(position, from) & checkMask;
+            if ((pinned & squareBit(from)) != 0) {
+                targets &= AttackTables.line(kingSquare, from);
+            }
+
+            if (buffer == null) {
+                count += Long.bitCount(targets);
+                continue;
+            }
+
+            int pieceCode = position.getPieceAt(from);
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+
+                int flags = codeType(pieceCode) == PAWN && Math.abs(to - from) == 16 ? Moves.FLAG_DOUBLE_PUSH : 0;
+                buffer.add(Moves.encode(from, to, pieceCode, position.getPieceAt(to), flags));
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
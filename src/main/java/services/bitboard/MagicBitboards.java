@@ -0,0 +1,245 @@
+package services.bitboard;
+
+import model.board.Board;
+import model.pieces.Pawn;
+import model.pieces.Queen;
+import services.board.SquareInterface;
+import services.enums.PieceColor;
+import services.strategy.common.PieceInterface;
+import services.utils.MovementUtil;
+
+import java.util.List;
+
+import static services.bitboard.Bitboards.*;
+import static services.enums.ImagePath.RESOURCES_BPAWN_PNG;
+import static services.enums.ImagePath.RESOURCES_WQUEEN_PNG;
+
+/**
+ * Constant-time sliding attacks for rooks, bishops and queens using magic bitboards.
+ * <p>
+ * For every square the occupancy of the squares a slider could be blocked on is
+ * multiplied by a magic number; the top bits of the product index a table of
+ * precomputed attack masks. The magics are searched for when the class is loaded,
+ * with a fixed-seed generator, so the tables are identical on every run. The
+ * tables are filled from the mask walker in {@link MovementUtil}; {@link #selfCheck()}
+ * checks them against the older grid walker instead, so a mistake in the mask
+ * walker cannot hide behind itself.
+ */
+public final class MagicBitboards {
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] ROOK_MAGICS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final long[][] ROOK_ATTACKS = new long[64][];
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final long[] BISHOP_MAGICS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+    private static long randomState = SEED;
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            initSquare(square, true);
+            initSquare(square, false);
+        }
+    }
+
+    private MagicBitboards() {
+    }
+
+    public static long rookAttacks(int square, long occupancy) {
+        int index = (int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_ATTACKS[square][index];
+    }
+
+    public static long bishopAttacks(int square, long occupancy) {
+        int index = (int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_ATTACKS[square][index];
+    }
+
+    public static long queenAttacks(int square, long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    // Squares whose occupancy can change the attacks of a rook on the given square
+    public static long rookMask(int square) {
+        return ROOK_MASKS[square];
+    }
+
+    public static long bishopMask(int square) {
+        return BISHOP_MASKS[square];
+    }
+
+    /**
+     * Compares the lookup against the grid walker for every square and every
+     * configuration of blockers on the relevant squares. This is a test-time
+     * check: walking the grid for all of them costs far more than building the
+     * tables, so it does not run when the class is loaded.
+     *
+     * @return true when every lookup matches
+     */
+    public static boolean selfCheck() {
+        GridReference reference = new GridReference();
+        for (int square = 0; square < 64; square++) {
+            long rookMask = ROOK_MASKS[square];
+            long subset = 0L;
+            do {
+                if (rookAttacks(square, subset) != reference.attacks(square, subset, true)) {
+                    return false;
+                }
+                subset = (subset - rookMask) & rookMask;
+            } while (subset != 0);
+
+            long bishopMask = BISHOP_MASKS[square];
+            subset = 0L;
+            do {
+                if (bishopAttacks(square, subset) != reference.attacks(square, subset, false)) {
+                    return false;
+                }
+                subset = (subset - bishopMask) & bishopMask;
+            } while (subset != 0);
+        }
+
+        return true;
+    }
+
+    /**
+     * Attacks as the grid walker sees them: a white queen on the square and a
+     * black pawn on every occupied square, so each blocker counts as a capture.
+     */
+    static final class GridReference {
+        private final SquareInterface[][] grid;
+        private final PieceInterface slider;
+        private final PieceInterface blocker;
+
+        GridReference() {
+            Board board = new Board();
+            board.initializeBoardSquares();
+            grid = board.getBoardSquareArray();
+            slider = new Queen(PieceColor.WHITE, grid[0][0], RESOURCES_WQUEEN_PNG.label);
+            blocker = new Pawn(PieceColor.BLACK, grid[0][0], RESOURCES_BPAWN_PNG.label);
+        }
+
+        long attacks(int square, long occupancy, boolean rook) {
+            occupancy &= ~squareBit(square);
+            place(occupancy, blocker);
+            slider.setCurrentSquare(grid[squareY(square)][squareX(square)]);
+
+            List<SquareInterface> targets = rook
+                    ? MovementUtil.getLinearMoves(grid, slider)
+                    : MovementUtil.getDiagonalMoves(grid, slider);
+            long attacks = 0L;
+            for (SquareInterface target : targets) {
+                attacks |= squareBit(squareIndex(target.getXNum(), target.getYNum()));
+            }
+
+            place(occupancy, null);
+            return attacks;
+        }
+
+        private void place(long squares, PieceInterface piece) {
+            while (squares != 0) {
+                int square = Long.numberOfTrailingZeros(squares);
+                squares &= squares - 1;
+                grid[squareY(square)][squareX(square)].setOccupyingPiece(piece);
+            }
+        }
+    }
+
+    private static void initSquare(int square, boolean rook) {
+        long mask = relevantMask(square, rook);
+        int bits = Long.bitCount(mask);
+        int size = 1 << bits;
+
+        long[] occupancies = new long[size];
+        long[] reference = new long[size];
+        long subset = 0L;
+        for (int i = 0; i < size; i++) {
+            occupancies[i] = subset;
+            reference[i] = rook
+                    ? MovementUtil.getLinearAttacks(square, subset)
+                    : MovementUtil.getDiagonalAttacks(square, subset);
+            subset = (subset - mask) & mask;
+        }
+
+        long[] attacks = new long[size];
+        int[] epoch = new int[size];
+        int attempt = 0;
+        long magic;
+
+        while (true) {
+            magic = nextSparseRandom();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+
+            attempt++;
+            boolean collision = false;
+            for (int i = 0; i < size && !collision; i++) {
+                int index = (int) ((occupancies[i] * magic) >>> (64 - bits));
+                if (epoch[index] != attempt) {
+                    epoch[index] = attempt;
+                    attacks[index] = reference[i];
+                } else if (attacks[index] != reference[i]) {
+                    collision = true;
+                }
+            }
+
+            if (!collision) {
+                break;
+            }
+        }
+
+        if (rook) {
+            ROOK_MASKS[square] = mask;
+            ROOK_MAGICS[square] = magic;
+            ROOK_SHIFTS[square] = 64 - bits;
+            ROOK_ATTACKS[square] = attacks;
+        } else {
+            BISHOP_MASKS[square] = mask;
+            BISHOP_MAGICS[square] = magic;
+            BISHOP_SHIFTS[square] = 64 - bits;
+            BISHOP_ATTACKS[square] = attacks;
+        }
+    }
+
+    // Ray squares without the last one in each direction, which can never block anything behind it
+    private static long relevantMask(int square, boolean rook) {
+        long mask = 0L;
+        int x = squareX(square);
+        int y = squareY(square);
+        int[][] directions = rook
+                ? new int[][]{{-1, 0}, {1, 0}, {0, -1}, {0, 1}}
+                : new int[][]{{-1, -1}, {1, -1}, {1, 1}, {-1, 1}};
+
+        for (int[] direction : directions) {
+            int currentX = x + direction[1];
+            int currentY = y + direction[0];
+
+            while (MovementUtil.isInBound(currentX + direction[1], currentY + direction[0])) {
+                mask |= squareBit(squareIndex(currentX, currentY));
+                currentX += direction[1];
+                currentY += direction[0];
+            }
+        }
+
+        return mask;
+    }
+
+    // Magic candidates with few set bits collide less often
+    private static long nextSparseRandom() {
+        return nextRandom() & nextRandom() & nextRandom();
+    }
+
+    // xorshift64*
+    private static long nextRandom() {
+        randomState ^= randomState >>> 12;
+        randomState ^= randomState << 25;
+        randomState ^= randomState >>> 27;
+        return randomState * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,55 @@
+package services.bitboard;
+
+/**
+ * Caller-owned, preallocated storage for encoded moves. Generation appends to it
+ * and {@link #clear()} resets it, so the same buffer can be reused for every
+ * position without allocating.
+ */
+public class MoveBuffer {
+    // No position reachable under these rules has more moves than this
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int[] moves;
+    private int size;
+
+    public MoveBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveBuffer(int capacity) {
+        this.moves = new int[capacity];
+    }
+
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
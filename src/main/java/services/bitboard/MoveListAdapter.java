@@ -0,0 +1,30 @@
+package services.bitboard;
+
+import services.board.SquareInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static services.bitboard.Bitboards.squareX;
+import static services.bitboard.Bitboards.squareY;
+
+/**
+ * Bridges the buffer-based generation to callers that still expect the target
+ * squares of {@link services.strategy.common.PieceInterface#getLegalMoves}.
+ */
+public final class MoveListAdapter {
+
+    private MoveListAdapter() {
+    }
+
+    public static List<SquareInterface> toTargetSquares(MoveBuffer buffer, SquareInterface[][] squareArrayBoard) {
+        List<SquareInterface> targetSquares = new ArrayList<>(buffer.size());
+
+        for (int i = 0; i < buffer.size(); i++) {
+            int to = Moves.to(buffer.get(i));
+            targetSquares.add(squareArrayBoard[squareY(to)][squareX(to)]);
+        }
+
+        return targetSquares;
+    }
+}
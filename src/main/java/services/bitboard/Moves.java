@@ -0,0 +1,58 @@
+package services.bitboard;
+
+import static services.bitboard.Bitboards.NO_PIECE;
+
+/**
+ * Moves encoded into a single int so they can be kept in primitive buffers:
+ * <pre>
+ *   bits  0-5   from square
+ *   bits  6-11  to square
+ *   bits 12-15  moving piece code
+ *   bits 16-19  captured piece code + 1, 0 when nothing is captured
+ *   bits 20-23  flags
+ * </pre>
+ * No real move has equal from and to squares, so 0 never encodes a move.
+ */
+public final class Moves {
+
+    public static final int NONE = 0;
+
+    public static final int FLAG_DOUBLE_PUSH = 1;
+
+    private Moves() {
+    }
+
+    public static int encode(int from, int to, int pieceCode, int capturedCode, int flags) {
+        return from | (to << 6) | (pieceCode << 12) | ((capturedCode + 1) << 16) | (flags << 20);
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int piece(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    // NO_PIECE for quiet moves
+    public static int captured(int move) {
+        return ((move >>> 16) & 0xF) - 1;
+    }
+
+    public static boolean isCapture(int move) {
+        return captured(move) != NO_PIECE;
+    }
+
+    public static int flags(int move) {
+        return (move >>> 20) & 0xF;
+    }
+
+    // Coordinate notation such as "e2e4"
+    public static String toNotation(int move) {
+        return Bitboards.squareName(from(move)) + Bitboards.squareName(to(move));
+    }
+}
@@ -0,0 +1,97 @@
+package services.bitboard;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static services.bitboard.Bitboards.opponent;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth. The counts for
+ * well-known positions are fixed, so any change to them points at a move
+ * generation bug. One move buffer is kept per ply and the moves are played on a
+ * single position, so a run does not allocate after construction.
+ */
+public class Perft {
+    // Far beyond any depth a perft run finishes at; bounds the buffers kept per ply
+    public static final int MAX_DEPTH = 64;
+
+    private final BitboardPosition position;
+    private final MoveBuffer[] buffers;
+
+    public Perft(BitboardPosition position, int maxDepth) {
+        if (maxDepth < 0 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Perft depth must be between 0 and " + MAX_DEPTH + ", got " + maxDepth);
+        }
+
+        this.position = position;
+        this.buffers = new MoveBuffer[Math.max(maxDepth, 1)];
+        for (int ply = 0; ply < buffers.length; ply++) {
+            buffers[ply] = new MoveBuffer();
+        }
+    }
+
+    public long perft(int colorIndex, int depth) {
+        checkDepth(depth);
+        if (depth == 0) {
+            return 1L;
+        }
+
+        return count(colorIndex, depth, 0);
+    }
+
+    /**
+     * Counts the leaf nodes below each root move separately, which narrows a wrong
+     * total down to the move whose subtree differs from a reference engine.
+     *
+     * @return leaf counts keyed by root move in coordinate notation, in generation order
+     */
+    public Map<String, Long> divide(int colorIndex, int depth) {
+        checkDepth(depth);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if (depth == 0) {
+            return counts;
+        }
+
+        MoveBuffer moves = buffers[0];
+        moves.clear();
+        LegalMoveGenerator.generateLegalMoves(position, colorIndex, moves);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            position.makeMove(move);
+            long nodes = depth == 1 ? 1L : count(opponent(colorIndex), depth - 1, 1);
+            position.unmakeMove(move);
+            counts.put(Moves.toNotation(move), nodes);
+        }
+
+        return counts;
+    }
+
+    // Deeper runs than the constructor was given would walk off the per-ply buffers
+    private void checkDepth(int depth) {
+        if (depth < 0 || depth > buffers.length) {
+            throw new IllegalArgumentException("Perft depth must be between 0 and " + buffers.length + ", got " + depth);
+        }
+    }
+
+    private long count(int colorIndex, int depth, int ply) {
+        // Bulk counting: the last ply only needs the number of legal moves, not the moves themselves
+        if (depth == 1) {
+            return LegalMoveGenerator.countLegalMoves(position, colorIndex);
+        }
+
+        MoveBuffer moves = buffers[ply];
+        moves.clear();
+        LegalMoveGenerator.generateLegalMoves(position, colorIndex, moves);
+
+        long nodes = 0L;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            position.makeMove(move);
+            nodes += count(opponent(colorIndex), depth - 1, ply + 1);
+            position.unmakeMove(move);
+        }
+
+        return nodes;
+    }
+}
@@ -0,0 +1,155 @@
+package services.bitboard;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Material plus piece-square values for the middlegame and the endgame, and the
+ * weight each piece contributes to the game phase. The tables are written from
+ * white's side with the eighth rank first, which is the square order of the
+ * bitboards; black looks them up on the vertically mirrored square.
+ * <p>
+ * The combined tables hold signed values (positive for white, negative for
+ * black), so a position keeps its running totals by adding the value of a piece
+ * that is put and subtracting it when the piece is removed.
+ */
+public final class PieceSquareTables {
+
+    // Phase of the starting position; a bare-kings position has phase 0
+    public static final int MAX_PHASE = 24;
+
+    // Indexed by piece type
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+    private static final int[] MIDDLEGAME_VALUES = {100, 320, 330, 500, 900, 0};
+    private static final int[] ENDGAME_VALUES = {120, 290, 310, 530, 950, 0};
+
+    private static final int[] PAWN_MIDDLEGAME = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] PAWN_ENDGAME = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            5, 5, 5, 5, 5, 5, 5, 5,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] KING_MIDDLEGAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MIDDLEGAME_TABLES = {PAWN_MIDDLEGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDDLEGAME};
+    private static final int[][] ENDGAME_TABLES = {PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME};
+
+    private static final int[][] MIDDLEGAME = new int[2 * PIECE_TYPES][64];
+    private static final int[][] ENDGAME = new int[2 * PIECE_TYPES][64];
+
+    static {
+        for (int pieceCode = 0; pieceCode < 2 * PIECE_TYPES; pieceCode++) {
+            int typeIndex = codeType(pieceCode);
+            boolean white = codeColor(pieceCode) == WHITE;
+
+            for (int square = 0; square < 64; square++) {
+                int tableSquare = white ? square : square ^ 56;
+                int middlegame = MIDDLEGAME_VALUES[typeIndex] + MIDDLEGAME_TABLES[typeIndex][tableSquare];
+                int endgame = ENDGAME_VALUES[typeIndex] + ENDGAME_TABLES[typeIndex][tableSquare];
+                MIDDLEGAME[pieceCode][square] = white ? middlegame : -middlegame;
+                ENDGAME[pieceCode][square] = white ? endgame : -endgame;
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    // Signed value of the piece on the square: positive for white, negative for black
+    public static int middlegame(int pieceCode, int square) {
+        return MIDDLEGAME[pieceCode][square];
+    }
+
+    public static int endgame(int pieceCode, int square) {
+        return ENDGAME[pieceCode][square];
+    }
+
+    public static int phaseWeight(int pieceCode) {
+        return PHASE_WEIGHTS[codeType(pieceCode)];
+    }
+
+    // Blends the two totals by the phase, capped at MAX_PHASE once promotions would exceed it
+    public static int taper(int middlegameScore, int endgameScore, int phase) {
+        int middlegamePhase = Math.min(phase, MAX_PHASE);
+        return (middlegameScore * middlegamePhase + endgameScore * (MAX_PHASE - middlegamePhase)) / MAX_PHASE;
+    }
+}
@@ -0,0 +1,109 @@
+package services.bitboard;
+
+/**
+ * Zobrist keys of the positions of one game, oldest first, together with the
+ * halfmove clock: the number of plies since the last capture or pawn move. Keys
+ * include the side to move.
+ * <p>
+ * A capture or a pawn move can never be taken back, so no position before it
+ * can come up again. The repetition scan therefore looks back only as far as
+ * the halfmove clock, and only at every other entry, where the same side was to
+ * move. That keeps it to a handful of comparisons and lets the search run it at
+ * every node.
+ * <p>
+ * Entries live in a ring buffer that is overwritten once a game is longer than
+ * {@link #CAPACITY} plies; the scan never reaches that far back, since the
+ * fifty-move rule ends the game first.
+ */
+public class PositionHistory {
+    public static final int FIFTY_MOVE_PLIES = 100;
+
+    // Power of two, well above the fifty-move horizon plus the deepest search line
+    static final int CAPACITY = 1 << 10;
+    private static final int MASK = CAPACITY - 1;
+
+    private final long[] keys;
+    private final int[] halfmoveClocks;
+    private int size;
+
+    public PositionHistory(long startKey) {
+        this.keys = new long[CAPACITY];
+        this.halfmoveClocks = new int[CAPACITY];
+        reset(startKey);
+    }
+
+    private PositionHistory(PositionHistory other) {
+        this.keys = other.keys.clone();
+        this.halfmoveClocks = other.halfmoveClocks.clone();
+        this.size = other.size;
+    }
+
+    public PositionHistory copy() {
+        return new PositionHistory(this);
+    }
+
+    // Forgets every position and starts again from the given one
+    public void reset(long startKey) {
+        keys[0] = startKey;
+        halfmoveClocks[0] = 0;
+        size = 1;
+    }
+
+    // Records the position reached by a move; captures and pawn moves are irreversible
+    public void push(long key, boolean irreversible) {
+        int clock = irreversible ? 0 : halfmoveClocks[(size - 1) & MASK] + 1;
+        keys[size & MASK] = key;
+        halfmoveClocks[size & MASK] = clock;
+        size++;
+    }
+
+    // Takes back the most recent push
+    public void pop() {
+        if (size <= 1) {
+            throw new IllegalStateException("No position to take back");
+        }
+        size--;
+    }
+
+    public long getCurrentKey() {
+        return keys[(size - 1) & MASK];
+    }
+
+    public int getHalfmoveClock() {
+        return halfmoveClocks[(size - 1) & MASK];
+    }
+
+    // Plies played since the starting position
+    public int getPlies() {
+        return size - 1;
+    }
+
+    // Earlier occurrences of the current position since the last irreversible move
+    public int countRepetitions() {
+        int top = size - 1;
+        long key = keys[top & MASK];
+        int reach = Math.min(Math.min(halfmoveClocks[top & MASK], top), CAPACITY - 1);
+
+        int count = 0;
+        // Two plies back the moved pieces cannot both be home again, so four is the nearest repetition
+        for (int back = 4; back <= reach; back += 2) {
+            if (keys[(top - back) & MASK] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Enough for the search: a side that can repeat once can repeat again, so the line is a draw
+    public boolean isRepetition() {
+        return countRepetitions() >= 1;
+    }
+
+    public boolean isThreefoldRepetition() {
+        return countRepetitions() >= 2;
+    }
+
+    public boolean isFiftyMoveDraw() {
+        return getHalfmoveClock() >= FIFTY_MOVE_PLIES;
+    }
+}
@@ -0,0 +1,94 @@
+package services.bitboard;
+
+import services.board.SquareInterface;
+import services.strategy.common.PieceInterface;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Random 64-bit keys for Zobrist hashing. A position key is the XOR of the keys
+ * of every piece on its square, plus {@link #sideToMoveKey()} when black is to
+ * move. Because XOR is its own inverse, a move only changes the key by the keys
+ * of the pieces it removes and puts, so keys are maintained incrementally rather
+ * than recomputed. The keys come from a fixed seed and are the same on every run.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private static final long[][] PIECE_SQUARE_KEYS = new long[2 * PIECE_TYPES][64];
+    private static final long SIDE_TO_MOVE_KEY;
+
+    static {
+        long state = SEED;
+        for (int pieceCode = 0; pieceCode < PIECE_SQUARE_KEYS.length; pieceCode++) {
+            for (int square = 0; square < 64; square++) {
+                state += SEED;
+                PIECE_SQUARE_KEYS[pieceCode][square] = mix(state);
+            }
+        }
+        SIDE_TO_MOVE_KEY = mix(state + SEED);
+    }
+
+    private Zobrist() {
+    }
+
+    public static long pieceKey(int pieceCode, int square) {
+        return PIECE_SQUARE_KEYS[pieceCode][square];
+    }
+
+    public static long pieceKey(PieceInterface piece, SquareInterface square) {
+        return PIECE_SQUARE_KEYS[pieceCode(piece.getPieceColor(), piece.getPieceType())]
+                [squareIndex(square.getXNum(), square.getYNum())];
+    }
+
+    // XORed in when black is to move
+    public static long sideToMoveKey() {
+        return SIDE_TO_MOVE_KEY;
+    }
+
+    // Full recomputation of the placement key; the incremental keys must always equal it
+    public static long compute(BitboardPosition position) {
+        long key = 0L;
+        long pieces = position.getOccupancy();
+        while (pieces != 0) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            key ^= pieceKey(position.getPieceAt(square), square);
+        }
+        return key;
+    }
+
+    // Full recomputation of the pawn key
+    public static long computePawnKey(BitboardPosition position) {
+        long key = 0L;
+        for (int colorIndex = WHITE; colorIndex <= BLACK; colorIndex++) {
+            long pawns = position.getPieces(colorIndex, PAWN);
+            while (pawns != 0) {
+                int square = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                key ^= pieceKey(pieceCode(colorIndex, PAWN), square);
+            }
+        }
+        return key;
+    }
+
+    public static long compute(SquareInterface[][] squares) {
+        long key = 0L;
+        for (SquareInterface[] row : squares) {
+            for (SquareInterface square : row) {
+                if (square.isOccupied()) {
+                    key ^= pieceKey(square.getOccupyingPiece(), square);
+                }
+            }
+        }
+        return key;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
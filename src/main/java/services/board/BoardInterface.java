@@ -1,5 +1,6 @@
 package services.board;
 
+import services.bitboard.BitboardPosition;
 import services.strategy.common.PieceInterface;
 
 import java.util.List;
@@ -25,6 +26,12 @@ public interface BoardInterface {
 
     void setBlackPieces(List<PieceInterface> blackPieces);
 
+    Optional<BitboardPosition> getBitboardPosition();
+
+    long getZobristHash();
+
+    void setZobristHash(long zobristHash);
+
     void initializePieces();
 
     void initializeBoardSquares();
@@ -1,5 +1,8 @@
 package services.board;
 
+import services.bitboard.BitboardPosition;
+import services.bitboard.PositionHistory;
+import services.enums.PieceColor;
 import services.strategy.common.PieceInterface;
 
 import java.util.List;
@@ -29,6 +32,35 @@ public interface BoardService {
 
     SquareInterface[][] getBoardSquareArray();
 
+    Optional<BitboardPosition> getBitboardPosition();
+
+    // Detached copy of the piece placement, free of squares, pieces and images; safe to hand to another thread
+    BitboardPosition copyPosition();
+
+    // Zobrist key of the current position, including the side to move
+    long getZobristHash();
+
+    // XORs a change into the placement key; used by Move as pieces leave and enter squares
+    void updateZobristHash(long delta);
+
+    // True if a piece of the given color attacks the square
+    boolean isSquareAttacked(SquareInterface square, PieceColor byColor);
+
+    // Plays the move and records what is needed to take it back; false if the target holds a friendly piece
+    boolean makeMove(PieceInterface piece, SquareInterface targetSquare);
+
+    // Takes back the most recent move made through makeMove
+    void unmakeMove();
+
+    // Keys of the positions reached so far, kept in step by makeMove and unmakeMove
+    PositionHistory getPositionHistory();
+
+    // Latest published position; safe to read from any thread while the game goes on
+    PositionSnapshot getSnapshot();
+
+    // Publishes the current position; done on every turn change, and needed only after setting up pieces by hand
+    void publishSnapshot();
+
     PieceInterface getCurrPiece();
 
     void setCurrPiece(PieceInterface piece);
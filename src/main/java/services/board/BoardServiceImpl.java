@@ -1,12 +1,23 @@
 package services.board;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Bitboards;
+import services.bitboard.PositionHistory;
+import services.bitboard.Zobrist;
+import services.enums.PieceColor;
+import services.enums.PieceType;
 import services.strategy.common.PieceInterface;
+import services.utils.MovementUtil;
 
 import java.util.List;
 import java.util.Optional;
 
+import static services.enums.PieceColor.WHITE;
+
 
 @Getter
 @Setter
@@ -20,6 +31,15 @@ public class BoardServiceImpl implements BoardService {
     private int currX;
     private int currY;
 
+    @Getter(AccessLevel.NONE)
+    private final UndoStack undoStack = new UndoStack();
+
+    private final PositionHistory positionHistory;
+
+    // Replaced, never modified, each time the turn passes; read from any thread
+    @Setter(AccessLevel.NONE)
+    private volatile PositionSnapshot snapshot;
+
 
     public BoardServiceImpl(BoardInterface boardInterface) {
         this.boardInterface = boardInterface;
@@ -30,6 +50,8 @@ public class BoardServiceImpl implements BoardService {
 
         whiteTurn = true;
 
+        positionHistory = new PositionHistory(getZobristHash());
+        publishSnapshot();
     }
 
     public void initializePieces() {
@@ -76,5 +98,94 @@ public class BoardServiceImpl implements BoardService {
         return boardInterface.getBoardSquareArray();
     }
 
+    public Optional<BitboardPosition> getBitboardPosition() {
+        return boardInterface.getBitboardPosition();
+    }
+
+    // Passing the turn completes a move, so this is where the new position is published
+    public void setWhiteTurn(boolean whiteTurn) {
+        this.whiteTurn = whiteTurn;
+        publishSnapshot();
+    }
+
+    public void publishSnapshot() {
+        // A board that has not laid out its squares yet shows as empty
+        BitboardPosition position = getBitboardPosition()
+                .orElseGet(() -> getBoardSquareArray() == null
+                        ? new BitboardPosition()
+                        : BitboardPosition.fromSquares(getBoardSquareArray()));
+        snapshot = PositionSnapshot.of(position, whiteTurn, positionHistory.getPlies());
+    }
+
+    public BitboardPosition copyPosition() {
+        return getBitboardPosition()
+                .map(BitboardPosition::copy)
+                .orElseGet(() -> BitboardPosition.fromSquares(getBoardSquareArray()));
+    }
+
+    public long getZobristHash() {
+        long hash = boardInterface.getZobristHash();
+        return whiteTurn ? hash : hash ^ Zobrist.sideToMoveKey();
+    }
+
+    public void updateZobristHash(long delta) {
+        boardInterface.setZobristHash(boardInterface.getZobristHash() ^ delta);
+    }
+
+    public boolean isSquareAttacked(SquareInterface square, PieceColor byColor) {
+        int squareIndex = Bitboards.squareIndex(square.getXNum(), square.getYNum());
+
+        Optional<BitboardPosition> position = getBitboardPosition();
+        if (position.isPresent()) {
+            return BitboardMoveGenerator.isSquareAttacked(position.get(), squareIndex, Bitboards.colorIndex(byColor));
+        }
+
+        return MovementUtil.isSquareAttacked(getBoardSquareArray(), squareIndex, byColor);
+    }
+
+    public boolean makeMove(PieceInterface piece, SquareInterface targetSquare) {
+        PieceInterface capturedPiece = targetSquare.getOccupyingPiece();
+        if (capturedPiece != null && capturedPiece.getPieceColor() == piece.getPieceColor()) {
+            return false;
+        }
+
+        undoStack.push(piece, piece.getCurrentSquare(), targetSquare, capturedPiece, piece.isWasMoved(),
+                boardInterface.getZobristHash());
+        boolean moved = piece.move(targetSquare, this);
+
+        // The turn is flipped by the caller, so the key is completed here for the opponent to move
+        long placementKey = boardInterface.getZobristHash();
+        positionHistory.push(piece.getPieceColor() == WHITE ? placementKey ^ Zobrist.sideToMoveKey() : placementKey,
+                capturedPiece != null || piece.getPieceType() == PieceType.PAWN);
+        return moved;
+    }
+
+    public void unmakeMove() {
+        if (undoStack.isEmpty()) {
+            throw new IllegalStateException("No move to unmake");
+        }
+
+        PieceInterface movedPiece = undoStack.movedPiece();
+        SquareInterface targetSquare = undoStack.toSquare();
+        PieceInterface capturedPiece = undoStack.capturedPiece();
+
+        targetSquare.setOccupyingPiece(null);
+        undoStack.fromSquare().put(movedPiece);
+        movedPiece.setWasMoved(undoStack.wasMoved());
+        boardInterface.setZobristHash(undoStack.zobristHash());
+
+        if (capturedPiece != null) {
+            targetSquare.put(capturedPiece);
+            if (capturedPiece.getPieceColor() == WHITE) {
+                getWhitePieces().add(capturedPiece);
+            } else {
+                getBlackPieces().add(capturedPiece);
+            }
+        }
+
+        undoStack.pop();
+        positionHistory.pop();
+    }
+
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package services.board;
 
 import model.pieces.King;
+import services.bitboard.Zobrist;
 import services.enums.PieceColor;
 import services.strategy.common.PieceInterface;
 
@@ -17,13 +18,15 @@ public interface Move {
             else capture(currentPiece, targetSquare, boardService);
         }
 
-        removePiece(currentPiece.getCurrentSquare());
+        removePiece(currentPiece.getCurrentSquare(), boardService);
         currentPiece.setCurrentSquare(targetSquare);
         currentPiece.getCurrentSquare().put(currentPiece);
+        boardService.updateZobristHash(Zobrist.pieceKey(currentPiece, targetSquare));
         return true;
     }
 
-    private static void removePiece(SquareInterface targetSquare) {
+    private static void removePiece(SquareInterface targetSquare, BoardService boardService) {
+        boardService.updateZobristHash(Zobrist.pieceKey(targetSquare.getOccupyingPiece(), targetSquare));
         targetSquare.setOccupyingPiece(null);
     }
 
@@ -31,6 +34,7 @@ public interface Move {
 
         PieceInterface targetPiece = targetSquare.getOccupyingPiece();
         PieceColor targetPieceColor = targetPiece.getPieceColor();
+        boardService.updateZobristHash(Zobrist.pieceKey(targetPiece, targetSquare));
 
         if (targetPieceColor.equals(BLACK)) {
             boardService.getBlackPieces().remove(targetPiece);
@@ -0,0 +1,108 @@
+package services.board;
+
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+
+import java.util.Arrays;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Immutable picture of a game position: the piece on every square, the side to
+ * move and the number of plies played. Squares are packed four bits each
+ * (piece code plus one, zero for an empty square), sixteen to a long, so the
+ * whole board takes 32 bytes.
+ * <p>
+ * {@link BoardService} publishes a new snapshot every time the turn passes.
+ * Since nothing in a snapshot ever changes and its fields are final, any thread
+ * may read the latest one without locks while the game goes on, and turn it
+ * into a {@link BitboardPosition} of its own to analyse.
+ */
+public final class PositionSnapshot {
+    private static final int SQUARES_PER_WORD = 16;
+
+    private final long[] packedSquares;
+    private final boolean whiteToMove;
+    private final int plies;
+    private final long zobristKey;
+
+    private PositionSnapshot(long[] packedSquares, boolean whiteToMove, int plies, long zobristKey) {
+        this.packedSquares = packedSquares;
+        this.whiteToMove = whiteToMove;
+        this.plies = plies;
+        this.zobristKey = zobristKey;
+    }
+
+    public static PositionSnapshot of(BitboardPosition position, boolean whiteToMove, int plies) {
+        long[] packedSquares = new long[64 / SQUARES_PER_WORD];
+        for (long pieces = position.getOccupancy(); pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            packedSquares[square / SQUARES_PER_WORD] |= (long) (position.getPieceAt(square) + 1) << shift(square);
+        }
+        return new PositionSnapshot(packedSquares, whiteToMove, plies, position.getZobristKey());
+    }
+
+    // Piece code on the square, or NO_PIECE
+    public int getPieceAt(int square) {
+        return (int) (packedSquares[square / SQUARES_PER_WORD] >>> shift(square) & 0xF) - 1;
+    }
+
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    public int getSideToMove() {
+        return whiteToMove ? WHITE : BLACK;
+    }
+
+    public int getPlies() {
+        return plies;
+    }
+
+    // Placement key, as BitboardPosition.getZobristKey() would give for the same pieces
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    // A new, independent position with the snapshot's pieces
+    public BitboardPosition toPosition() {
+        BitboardPosition position = new BitboardPosition();
+        for (int square = 0; square < 64; square++) {
+            int pieceCode = getPieceAt(square);
+            if (pieceCode != NO_PIECE) {
+                position.putPiece(square, pieceCode);
+            }
+        }
+        return position;
+    }
+
+    public String toFen() {
+        return Fen.toFen(toPosition(), getSideToMove());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PositionSnapshot snapshot)) {
+            return false;
+        }
+        return whiteToMove == snapshot.whiteToMove && plies == snapshot.plies
+                && Arrays.equals(packedSquares, snapshot.packedSquares);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobristKey) * 31 + (whiteToMove ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return toFen();
+    }
+
+    private static int shift(int square) {
+        return (square % SQUARES_PER_WORD) * 4;
+    }
+}
@@ -0,0 +1,87 @@
+package services.board;
+
+import services.strategy.common.PieceInterface;
+
+import java.util.Arrays;
+
+/**
+ * Records what {@link BoardService#makeMove} changed so that
+ * {@link BoardService#unmakeMove} can restore it. Entries live in parallel arrays
+ * that are reused from one move to the next; they only grow when the stack gets
+ * deeper than ever before.
+ */
+class UndoStack {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private PieceInterface[] movedPieces = new PieceInterface[INITIAL_CAPACITY];
+    private SquareInterface[] fromSquares = new SquareInterface[INITIAL_CAPACITY];
+    private SquareInterface[] toSquares = new SquareInterface[INITIAL_CAPACITY];
+    private PieceInterface[] capturedPieces = new PieceInterface[INITIAL_CAPACITY];
+    private boolean[] wasMovedFlags = new boolean[INITIAL_CAPACITY];
+    private long[] zobristHashes = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void push(PieceInterface movedPiece, SquareInterface fromSquare, SquareInterface toSquare,
+              PieceInterface capturedPiece, boolean wasMoved, long zobristHash) {
+        if (size == movedPieces.length) {
+            grow();
+        }
+
+        movedPieces[size] = movedPiece;
+        fromSquares[size] = fromSquare;
+        toSquares[size] = toSquare;
+        capturedPieces[size] = capturedPiece;
+        wasMovedFlags[size] = wasMoved;
+        zobristHashes[size] = zobristHash;
+        size++;
+    }
+
+    void pop() {
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Accessors below read the top entry
+
+    PieceInterface movedPiece() {
+        return movedPieces[size - 1];
+    }
+
+    SquareInterface fromSquare() {
+        return fromSquares[size - 1];
+    }
+
+    SquareInterface toSquare() {
+        return toSquares[size - 1];
+    }
+
+    PieceInterface capturedPiece() {
+        return capturedPieces[size - 1];
+    }
+
+    boolean wasMoved() {
+        return wasMovedFlags[size - 1];
+    }
+
+    // Placement key before the move, restored as a whole instead of replaying the XORs
+    long zobristHash() {
+        return zobristHashes[size - 1];
+    }
+
+    private void grow() {
+        int capacity = movedPieces.length * 2;
+        movedPieces = Arrays.copyOf(movedPieces, capacity);
+        fromSquares = Arrays.copyOf(fromSquares, capacity);
+        toSquares = Arrays.copyOf(toSquares, capacity);
+        capturedPieces = Arrays.copyOf(capturedPieces, capacity);
+        wasMovedFlags = Arrays.copyOf(wasMovedFlags, capacity);
+        zobristHashes = Arrays.copyOf(zobristHashes, capacity);
+    }
+}
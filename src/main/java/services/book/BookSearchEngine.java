@@ -0,0 +1,63 @@
+package services.book;
+
+import services.bitboard.BitboardPosition;
+import services.bitboard.Bitboards;
+import services.bitboard.Moves;
+import services.board.BoardService;
+import services.engine.SearchEngine;
+import services.engine.SearchLimits;
+import services.engine.SearchResult;
+import services.utils.Clock;
+
+import java.util.Random;
+
+/**
+ * Plays from an opening book while the position is in it and hands over to
+ * another engine once it is not. A book move comes back as a depth-0 result
+ * without a search, so the clock time goes to the positions that need it.
+ */
+public class BookSearchEngine implements SearchEngine {
+    private final SearchEngine engine;
+    private final PolyglotBook book;
+    private final Random random;
+
+    public BookSearchEngine(SearchEngine engine, PolyglotBook book) {
+        this(engine, book, new Random());
+    }
+
+    public BookSearchEngine(SearchEngine engine, PolyglotBook book, Random random) {
+        this.engine = engine;
+        this.book = book;
+        this.random = random;
+    }
+
+    @Override
+    public void close() {
+        engine.close();
+    }
+
+    @Override
+    public SearchResult search(BoardService boardService, Clock clock) {
+        long start = System.nanoTime();
+        int sideToMove = boardService.isWhiteTurn() ? Bitboards.WHITE : Bitboards.BLACK;
+        int move = book.probe(boardService.copyPosition(), sideToMove, random);
+
+        return move != Moves.NONE
+                ? bookResult(move, start)
+                : engine.search(boardService, clock);
+    }
+
+    @Override
+    public SearchResult search(BitboardPosition position, int sideToMove, SearchLimits limits) {
+        long start = System.nanoTime();
+        int move = book.probe(position, sideToMove, random);
+
+        return move != Moves.NONE
+                ? bookResult(move, start)
+                : engine.search(position, sideToMove, limits);
+    }
+
+    private SearchResult bookResult(int move, long start) {
+        return new SearchResult(move, 0, 0, new int[]{move}, 0L, System.nanoTime() - start);
+    }
+}
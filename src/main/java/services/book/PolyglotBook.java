@@ -0,0 +1,135 @@
+package services.book;
+
+import services.bitboard.BitboardPosition;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static services.bitboard.Bitboards.squareIndex;
+
+/**
+ * Reader for Polyglot {@code .bin} opening books. The file is a sorted array of
+ * 16-byte big-endian entries: the position key, the move, a weight and four
+ * bytes of learning data that are ignored. It is memory-mapped and searched in
+ * place, so looking up a move neither reads the file into the heap nor allocates.
+ * <p>
+ * A position can have several entries; one is picked at random with
+ * probability proportional to its weight. Entries for moves this game does not
+ * have (castling, promotion) are never picked.
+ * <p>
+ * The mapping stays valid after the file is closed. A book is not thread-safe,
+ * since it reuses one move buffer for the legality check.
+ */
+public class PolyglotBook {
+    static final int ENTRY_BYTES = 16;
+
+    private final ByteBuffer entries;
+    private final int size;
+    private final PolyglotKeys keys;
+    private final MoveBuffer legalMoves = new MoveBuffer();
+
+    PolyglotBook(ByteBuffer entries, PolyglotKeys keys) {
+        this.entries = entries;
+        this.size = entries.capacity() / ENTRY_BYTES;
+        this.keys = keys;
+    }
+
+    public static PolyglotBook open(Path path, PolyglotKeys keys) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length % ENTRY_BYTES != 0 || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a Polyglot book of at most 2 GB: " + path + " (" + length + " bytes)");
+            }
+            return new PolyglotBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, length), keys);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Picks a book move for the side to move, weighted by the entry weights, or
+     * returns {@link Moves#NONE} when the position is not in the book.
+     */
+    public int probe(BitboardPosition position, int sideToMove, Random random) {
+        long key = keys.key(position, sideToMove);
+        int first = lowerBound(key);
+        if (first == size || keyAt(first) != key) {
+            return Moves.NONE;
+        }
+
+        legalMoves.clear();
+        LegalMoveGenerator.generateLegalMoves(position, sideToMove, legalMoves);
+
+        int totalWeight = 0;
+        for (int index = first; index < size && keyAt(index) == key; index++) {
+            if (findLegalMove(index) != Moves.NONE) {
+                totalWeight += weightAt(index);
+            }
+        }
+        if (totalWeight == 0) {
+            return Moves.NONE;
+        }
+
+        int roll = random.nextInt(totalWeight);
+        for (int index = first; index < size && keyAt(index) == key; index++) {
+            int move = findLegalMove(index);
+            if (move != Moves.NONE) {
+                roll -= weightAt(index);
+                if (roll < 0) {
+                    return move;
+                }
+            }
+        }
+        return Moves.NONE;
+    }
+
+    // Index of the first entry whose key is not below the given one; keys compare unsigned
+    int lowerBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    long keyAt(int index) {
+        return entries.getLong(index * ENTRY_BYTES);
+    }
+
+    int weightAt(int index) {
+        return Short.toUnsignedInt(entries.getShort(index * ENTRY_BYTES + 10));
+    }
+
+    // The legal move matching the entry; bits 0-5 hold the target, 6-11 the origin, 12-14 a promotion
+    private int findLegalMove(int index) {
+        int bookMove = Short.toUnsignedInt(entries.getShort(index * ENTRY_BYTES + 8));
+        if ((bookMove >>> 12) != 0) {
+            return Moves.NONE;
+        }
+
+        int to = squareIndex(bookMove & 7, 7 - ((bookMove >>> 3) & 7));
+        int from = squareIndex((bookMove >>> 6) & 7, 7 - ((bookMove >>> 9) & 7));
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            if (Moves.from(move) == from && Moves.to(move) == to) {
+                return move;
+            }
+        }
+        return Moves.NONE;
+    }
+}
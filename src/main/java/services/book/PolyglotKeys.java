@@ -0,0 +1,97 @@
+package services.book;
+
+import services.bitboard.BitboardPosition;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Position keys in the Polyglot book format: the XOR of one entry of the
+ * Random64 table per piece, castling right and side to move. Polyglot numbers
+ * the ranks from white's side and orders the piece kinds black pawn, white
+ * pawn, black knight, ..., white king.
+ * <p>
+ * This game has neither castling nor en passant, so a castling right is taken to
+ * exist while the king and the rook still stand on their starting squares, which
+ * is what a book position out of the opening theory has. En passant keys are
+ * never added.
+ * <p>
+ * The table is 781 constants: the standard ones every Polyglot book is built
+ * with, or another table read as big-endian longs from a resource or given
+ * directly.
+ */
+public final class PolyglotKeys {
+    public static final int RANDOM_COUNT = 781;
+
+    private static final int CASTLING_OFFSET = 768;
+    private static final int TURN_OFFSET = 780;
+
+    private static final PolyglotKeys STANDARD = new PolyglotKeys(PolyglotRandom64.VALUES);
+
+    private final long[] random64;
+
+    public PolyglotKeys(long[] random64) {
+        if (random64.length != RANDOM_COUNT) {
+            throw new IllegalArgumentException("Expected " + RANDOM_COUNT + " random keys, got " + random64.length);
+        }
+        this.random64 = random64.clone();
+    }
+
+    // The keys of real Polyglot books
+    public static PolyglotKeys standard() {
+        return STANDARD;
+    }
+
+    public static PolyglotKeys fromResource(String resource) {
+        InputStream stream = PolyglotKeys.class.getResourceAsStream(resource);
+        if (stream == null) {
+            throw new IllegalStateException("Polyglot random table not found on the classpath: " + resource);
+        }
+
+        long[] random64 = new long[RANDOM_COUNT];
+        try (DataInputStream input = new DataInputStream(stream)) {
+            for (int i = 0; i < RANDOM_COUNT; i++) {
+                random64[i] = input.readLong();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the Polyglot random table " + resource, e);
+        }
+        return new PolyglotKeys(random64);
+    }
+
+    public long key(BitboardPosition position, int sideToMove) {
+        long key = 0L;
+        long pieces = position.getOccupancy();
+        while (pieces != 0) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            key ^= random64[pieceOffset(position.getPieceAt(square), square)];
+        }
+
+        key ^= castlingKey(position, WHITE, 60, 63, 0);
+        key ^= castlingKey(position, WHITE, 60, 56, 1);
+        key ^= castlingKey(position, BLACK, 4, 7, 2);
+        key ^= castlingKey(position, BLACK, 4, 0, 3);
+
+        if (sideToMove == WHITE) {
+            key ^= random64[TURN_OFFSET];
+        }
+        return key;
+    }
+
+    // Polyglot counts rows from white's first rank; the bitboards count from the eighth
+    static int pieceOffset(int pieceCode, int square) {
+        int kind = 2 * codeType(pieceCode) + (codeColor(pieceCode) == WHITE ? 1 : 0);
+        return 64 * kind + 8 * (7 - squareY(square)) + squareX(square);
+    }
+
+    private long castlingKey(BitboardPosition position, int colorIndex, int kingSquare, int rookSquare, int right) {
+        boolean unmoved = position.getPieceAt(kingSquare) == pieceCode(colorIndex, KING)
+                && position.getPieceAt(rookSquare) == pieceCode(colorIndex, ROOK);
+        return unmoved ? random64[CASTLING_OFFSET + right] : 0L;
+    }
+}
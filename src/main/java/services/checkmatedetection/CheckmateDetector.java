@@ -9,4 +9,10 @@ public interface CheckmateDetector {
     boolean isInCheckmate(BoardService boardService, PieceColor pieceColor);
 
     boolean isInStalemate(BoardService boardService, PieceColor pieceColor);
+
+    // The current position has occurred twice before with the same side to move
+    boolean isThreefoldRepetition(BoardService boardService);
+
+    // A hundred plies have passed without a capture or a pawn move
+    boolean isFiftyMoveDraw(BoardService boardService);
 }
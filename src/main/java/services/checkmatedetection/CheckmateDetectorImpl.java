@@ -1,11 +1,14 @@
 package services.checkmatedetection;
 
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Bitboards;
+import services.bitboard.LegalMoveGenerator;
 import services.board.BoardService;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
 import services.strategy.common.PieceInterface;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +18,10 @@ public class CheckmateDetectorImpl implements CheckmateDetector {
 
     @Override
     public boolean isInCheck(BoardService boardService, PieceColor pieceColor) {
+        Optional<BitboardPosition> position = boardService.getBitboardPosition();
+        if (position.isPresent()) {
+            return BitboardMoveGenerator.isInCheck(position.get(), Bitboards.colorIndex(pieceColor));
+        }
 
         return pieceColor.equals(WHITE)
                 ? checkHelper(boardService, PieceColor.WHITE)
@@ -39,40 +46,43 @@ public class CheckmateDetectorImpl implements CheckmateDetector {
         return !hasLegalMoveWithoutCheck(boardService, pieceColor);
     }
 
+    @Override
+    public boolean isThreefoldRepetition(BoardService boardService) {
+        return boardService.getPositionHistory().isThreefoldRepetition();
+    }
+
+    @Override
+    public boolean isFiftyMoveDraw(BoardService boardService) {
+        return boardService.getPositionHistory().isFiftyMoveDraw();
+    }
+
     private boolean hasLegalMoveWithoutCheck(BoardService boardService, PieceColor pieceColor) {
+        Optional<BitboardPosition> position = boardService.getBitboardPosition();
+        if (position.isPresent()) {
+            return LegalMoveGenerator.hasLegalMove(position.get(), Bitboards.colorIndex(pieceColor));
+        }
+
         List<PieceInterface> currentPlayerPieces = pieceColor.equals(WHITE) ? boardService.getWhitePieces() : boardService.getBlackPieces();
 
-        return currentPlayerPieces.stream()
-                .flatMap(piece -> piece.getLegalMoves(boardService.getBoardSquareArray()).stream().map(targetSquare -> {
-                    SquareInterface originalSquare = piece.getCurrentSquare();
-                    PieceInterface capturedPiece = targetSquare.getOccupyingPiece();
-
-                    // Make the move
-                    piece.move(targetSquare, boardService);
-
-                    // Check if the king is in check after the move
-                    boolean isInCheckAfterMove = isInCheck(boardService, pieceColor);
-
-                    // Undo the move
-                    piece.move(originalSquare, boardService);
-                    if (capturedPiece != null) {
-                        targetSquare.setOccupyingPiece(capturedPiece);
-                        if (capturedPiece.getPieceColor() == WHITE) {
-                            List<PieceInterface> updatedWhitePieces = new ArrayList<>(boardService.getWhitePieces());
-                            updatedWhitePieces.add(capturedPiece);
-                            boardService.setWhitePieces(updatedWhitePieces);
-                        } else {
-                            List<PieceInterface> updatedBlackPieces = new ArrayList<>(boardService.getBlackPieces());
-                            updatedBlackPieces.add(capturedPiece);
-                            boardService.setBlackPieces(updatedBlackPieces);
-                        }
-                    }
-
-                    return !isInCheckAfterMove;
-                }))
-                .anyMatch(canGetOutOfCheck -> canGetOutOfCheck);
+        for (PieceInterface piece : currentPlayerPieces) {
+            for (SquareInterface targetSquare : piece.getLegalMoves(boardService.getBoardSquareArray())) {
+                boardService.makeMove(piece, targetSquare);
+
+                // Check if the king is in check after the move
+                boolean isInCheckAfterMove = isInCheck(boardService, pieceColor);
+
+                boardService.unmakeMove();
+
+                if (!isInCheckAfterMove) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
     }
 
+    // Fallback for boards without bitboards: looks outward from the king's square instead of generating every move
     private boolean checkHelper(BoardService boardService, PieceColor pieceColor) {
         Optional<PieceInterface> optionalKing = pieceColor.equals(PieceColor.WHITE) ? boardService.getWhiteKing() : boardService.getBlackKing();
 
@@ -80,13 +90,7 @@ public class CheckmateDetectorImpl implements CheckmateDetector {
             return false;
         }
 
-        PieceInterface king = optionalKing.get();
-
-        List<PieceInterface> opponentPieces = king
-                .getPieceColor()
-                .equals(PieceColor.WHITE) ? boardService.getBlackPieces() : boardService.getWhitePieces();
-
-        return opponentPieces.stream().anyMatch(piece ->
-                piece.getLegalMoves(boardService.getBoardSquareArray()).contains(king.getCurrentSquare()));
+        PieceColor opponentColor = pieceColor.equals(WHITE) ? PieceColor.BLACK : PieceColor.WHITE;
+        return boardService.isSquareAttacked(optionalKing.get().getCurrentSquare(), opponentColor);
     }
 }
@@ -0,0 +1,136 @@
+package services.classify;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Classifies every line of a FEN or EPD stream and writes one result line per
+ * position, in input order: the class, the number of legal moves and the input
+ * line, separated by tabs.
+ * <p>
+ * The calling thread reads the input in batches of lines and submits each batch
+ * to a fork/join pool, which splits it until the pieces are small enough to
+ * classify directly. At most a fixed number of batches are in flight; when that
+ * many are, the caller waits for the oldest, writes it out and only then reads
+ * on. Memory stays bounded by the batch size times the batches in flight, no
+ * matter how large the input is, and results come out in input order without
+ * any sorting.
+ */
+public class BatchClassifier {
+    public static final int DEFAULT_BATCH_LINES = 4096;
+
+    // Small enough for the pool to balance, large enough that splitting costs little
+    private static final int LEAF_LINES = 256;
+
+    private final int parallelism;
+    private final int batchLines;
+    private final int batchesInFlight;
+
+    public BatchClassifier(int parallelism) {
+        this(parallelism, DEFAULT_BATCH_LINES, 2 * parallelism);
+    }
+
+    public BatchClassifier(int parallelism, int batchLines, int batchesInFlight) {
+        if (parallelism < 1 || batchLines < 1 || batchesInFlight < 1) {
+            throw new IllegalArgumentException("Parallelism, batch size and batches in flight must be positive");
+        }
+
+        this.parallelism = parallelism;
+        this.batchLines = batchLines;
+        this.batchesInFlight = batchesInFlight;
+    }
+
+    public ClassificationCounts classify(ReadableByteChannel input, WritableByteChannel output) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            LineReader reader = new LineReader(input);
+            Deque<ForkJoinTask<ClassifiedLines>> inFlight = new ArrayDeque<>();
+            ClassificationCounts counts = new ClassificationCounts();
+
+            List<String> batch = new ArrayList<>(batchLines);
+            while (reader.readLines(batch, batchLines)) {
+                if (inFlight.size() == batchesInFlight) {
+                    write(inFlight.removeFirst().join(), output, counts);
+                }
+                inFlight.addLast(pool.submit(new ClassifyTask(batch, 0, batch.size())));
+                batch = new ArrayList<>(batchLines);
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.removeFirst().join(), output, counts);
+            }
+            return counts;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void write(ClassifiedLines lines, WritableByteChannel output, ClassificationCounts counts)
+            throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(lines.text.toString().getBytes(StandardCharsets.ISO_8859_1));
+        while (bytes.hasRemaining()) {
+            output.write(bytes);
+        }
+        counts.addAll(lines.counts);
+    }
+
+    // Result lines of a run of input lines, with their counts
+    private static final class ClassifiedLines {
+        private final StringBuilder text;
+        private final ClassificationCounts counts = new ClassificationCounts();
+
+        private ClassifiedLines(int capacity) {
+            this.text = new StringBuilder(capacity);
+        }
+
+        private ClassifiedLines append(ClassifiedLines next) {
+            text.append(next.text);
+            counts.addAll(next.counts);
+            return this;
+        }
+    }
+
+    private static final class ClassifyTask extends RecursiveTask<ClassifiedLines> {
+        private final List<String> lines;
+        private final int from;
+        private final int to;
+
+        private ClassifyTask(List<String> lines, int from, int to) {
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ClassifiedLines compute() {
+            if (to - from > LEAF_LINES) {
+                int middle = (from + to) >>> 1;
+                ClassifyTask second = new ClassifyTask(lines, middle, to);
+                second.fork();
+                ClassifiedLines first = new ClassifyTask(lines, from, middle).compute();
+                return first.append(second.join());
+            }
+
+            PositionClassifier classifier = new PositionClassifier();
+            ClassifiedLines result = new ClassifiedLines((to - from) * 96);
+            for (int i = from; i < to; i++) {
+                String line = lines.get(i);
+                PositionClass positionClass = classifier.classify(line);
+                result.counts.add(positionClass);
+                result.text.append(positionClass.name().toLowerCase()).append('\t')
+                        .append(classifier.getLegalMoves()).append('\t')
+                        .append(line).append('\n');
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package services.classify;
+
+/**
+ * How many positions of a batch run fell into each class. Filled by the
+ * single thread that writes the results, so it needs no synchronization.
+ */
+public class ClassificationCounts {
+    private final long[] counts = new long[PositionClass.values().length];
+
+    void add(PositionClass positionClass) {
+        counts[positionClass.ordinal()]++;
+    }
+
+    void addAll(ClassificationCounts other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public long getCount(PositionClass positionClass) {
+        return counts[positionClass.ordinal()];
+    }
+
+    public long getTotal() {
+        long total = 0L;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (PositionClass positionClass : PositionClass.values()) {
+            builder.append(positionClass.name().toLowerCase()).append(' ').append(getCount(positionClass)).append(", ");
+        }
+        return builder.append("total ").append(getTotal()).toString();
+    }
+}
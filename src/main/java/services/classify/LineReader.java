@@ -0,0 +1,83 @@
+package services.classify;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a channel into lines, reading it through one fixed buffer so that
+ * input of any size is streamed rather than loaded. Lines end with "\n" or
+ * "\r\n" and are decoded as ISO-8859-1, which is exact for the ASCII of FEN and
+ * EPD. Blank lines are skipped.
+ */
+class LineReader {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private byte[] line = new byte[128];
+    private int lineLength;
+    private boolean endOfInput;
+
+    LineReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    // Appends up to maxLines lines; false once the input is used up and nothing was added
+    boolean readLines(List<String> lines, int maxLines) throws IOException {
+        int before = lines.size();
+        while (lines.size() - before < maxLines) {
+            if (!buffer.hasRemaining()) {
+                if (endOfInput || !fill()) {
+                    endOfInput = true;
+                    emit(lines);
+                    break;
+                }
+            }
+
+            byte[] bytes = buffer.array();
+            int position = buffer.position();
+            int limit = buffer.limit();
+            while (position < limit && lines.size() - before < maxLines) {
+                byte next = bytes[position++];
+                if (next == '\n') {
+                    emit(lines);
+                } else {
+                    append(next);
+                }
+            }
+            buffer.position(position);
+        }
+        return lines.size() > before;
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        return read > 0;
+    }
+
+    private void append(byte next) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = next;
+    }
+
+    private void emit(List<String> lines) {
+        int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+        lineLength = 0;
+        String text = new String(line, 0, length, StandardCharsets.ISO_8859_1);
+        if (!text.isBlank()) {
+            lines.add(text.trim());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package services.classify;
+
+public enum PositionClass {
+    NORMAL,
+    CHECK,
+    CHECKMATE,
+    STALEMATE,
+    // The line could not be read as a FEN or EPD record, or its position cannot occur in a game
+    INVALID
+}
@@ -0,0 +1,61 @@
+package services.classify;
+
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.LegalMoveGenerator;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Classifies single FEN or EPD lines. EPD records start with the same placement
+ * and side-to-move fields as FEN, and only those two are read, so both formats
+ * work line for line. One instance reuses one position and must stay on one
+ * thread.
+ * <p>
+ * A line is invalid not only when it cannot be read but also when its position
+ * cannot come up in a game: a side without exactly one king, or the side that
+ * just moved left in check.
+ */
+public class PositionClassifier {
+    private final BitboardPosition position = new BitboardPosition();
+
+    private int legalMoves;
+
+    public PositionClass classify(String line) {
+        int sideToMove;
+        try {
+            sideToMove = Fen.load(line, position);
+        } catch (IllegalArgumentException e) {
+            legalMoves = 0;
+            return PositionClass.INVALID;
+        }
+        return classify(position, sideToMove);
+    }
+
+    public PositionClass classify(BitboardPosition position, int sideToMove) {
+        if (!isReachable(position, sideToMove)) {
+            legalMoves = 0;
+            return PositionClass.INVALID;
+        }
+
+        legalMoves = LegalMoveGenerator.countLegalMoves(position, sideToMove);
+        boolean inCheck = BitboardMoveGenerator.isInCheck(position, sideToMove);
+
+        if (legalMoves == 0) {
+            return inCheck ? PositionClass.CHECKMATE : PositionClass.STALEMATE;
+        }
+        return inCheck ? PositionClass.CHECK : PositionClass.NORMAL;
+    }
+
+    private static boolean isReachable(BitboardPosition position, int sideToMove) {
+        return Long.bitCount(position.getPieces(WHITE, KING)) == 1
+                && Long.bitCount(position.getPieces(BLACK, KING)) == 1
+                && !BitboardMoveGenerator.isInCheck(position, opponent(sideToMove));
+    }
+
+    // Legal moves of the side to move in the position classified last
+    public int getLegalMoves() {
+        return legalMoves;
+    }
+}
@@ -0,0 +1,66 @@
+package services.engine;
+
+import services.bitboard.BitboardPosition;
+import services.bitboard.PieceSquareTables;
+import services.tablebase.Tablebase;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Static evaluation in centipawns from the point of view of the given side:
+ * material, piece-square values and pawn structure, blended between their
+ * middlegame and endgame versions by the game phase. The position keeps the
+ * piece-square totals up to date as pieces move, and the search looks the pawn
+ * structure up in its {@link PawnTable}, so evaluating is mostly a few reads.
+ * <p>
+ * Mate scores sit above every material score and are offset by the distance to
+ * the mate, so a shorter mate always scores higher.
+ */
+public final class Evaluation {
+    public static final int MATE = 100_000;
+    public static final int INFINITY = MATE + 1;
+    public static final int DRAW = 0;
+
+    // Longest mate a score can announce, in plies: the search depth plus a tablebase distance
+    static final int MAX_MATE_PLIES = 512;
+
+    // Plain piece values by type, for exchange arithmetic
+    static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    private Evaluation() {
+    }
+
+    public static int evaluate(BitboardPosition position, int colorIndex) {
+        return evaluate(position, colorIndex, PawnStructure.evaluate(position));
+    }
+
+    public static int evaluate(BitboardPosition position, int colorIndex, PawnTable pawnTable) {
+        return evaluate(position, colorIndex, pawnTable.probe(position));
+    }
+
+    private static int evaluate(BitboardPosition position, int colorIndex, int pawnStructure) {
+        int score = PieceSquareTables.taper(
+                position.getMiddlegameScore() + PawnStructure.middlegame(pawnStructure),
+                position.getEndgameScore() + PawnStructure.endgame(pawnStructure),
+                position.getPhase());
+        return colorIndex == WHITE ? score : -score;
+    }
+
+    // Score of being mated at the given distance from the root
+    public static int matedIn(int ply) {
+        return -MATE + ply;
+    }
+
+    // Exact score of a tablebase position at the given distance from the root
+    public static int tablebaseScore(int code, int ply) {
+        if (Tablebase.isDraw(code)) {
+            return DRAW;
+        }
+        int plies = ply + Tablebase.plies(code);
+        return Tablebase.isWin(code) ? MATE - plies : -MATE + plies;
+    }
+
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= MATE - MAX_MATE_PLIES;
+    }
+}
@@ -0,0 +1,34 @@
+package services.engine;
+
+import java.util.Arrays;
+
+public class HeapTableStorage implements TableStorage {
+    private final long[] values;
+
+    public HeapTableStorage(long size) {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Table too large for the heap: " + size + " entries");
+        }
+        this.values = new long[(int) size];
+    }
+
+    @Override
+    public long get(long index) {
+        return values[(int) index];
+    }
+
+    @Override
+    public void set(long index, long value) {
+        values[(int) index] = value;
+    }
+
+    @Override
+    public long size() {
+        return values.length;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0L);
+    }
+}
@@ -0,0 +1,97 @@
+package services.engine;
+
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+
+import static services.bitboard.Bitboards.codeType;
+
+/**
+ * Decides the order in which a node tries its moves: the transposition table
+ * move first, then captures by most valuable victim / least valuable attacker,
+ * then the two killer moves of the ply, then the remaining quiet moves by their
+ * butterfly history score.
+ * <p>
+ * Moves are scored once per node and handed out by selection: each call to
+ * {@link #next} swaps the best remaining move to the front. A cutoff usually
+ * comes within the first few moves, so most of the list is never sorted.
+ * One orderer belongs to one search thread.
+ */
+class MoveOrderer {
+    private static final int TABLE_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 29;
+    private static final int FIRST_KILLER_SCORE = 1 << 28;
+    private static final int SECOND_KILLER_SCORE = FIRST_KILLER_SCORE - 1;
+
+    // History scores are halved when one would reach the killer scores
+    private static final int HISTORY_LIMIT = 1 << 27;
+
+    private final int[][] scores = new int[Searcher.MAX_PLY][MoveBuffer.DEFAULT_CAPACITY];
+    private final int[][] killers = new int[Searcher.MAX_PLY][2];
+    private final int[][] history = new int[64][64];
+
+    void scoreMoves(MoveBuffer moves, int ply, int tableMove) {
+        int[] plyScores = scores[ply];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (move == tableMove) {
+                plyScores[i] = TABLE_MOVE_SCORE;
+            } else if (Moves.isCapture(move)) {
+                // Victim type dominates; among equal victims the cheaper attacker goes first
+                plyScores[i] = CAPTURE_SCORE + codeType(Moves.captured(move)) * 8 - codeType(Moves.piece(move));
+            } else if (move == killers[ply][0]) {
+                plyScores[i] = FIRST_KILLER_SCORE;
+            } else if (move == killers[ply][1]) {
+                plyScores[i] = SECOND_KILLER_SCORE;
+            } else {
+                plyScores[i] = history[Moves.from(move)][Moves.to(move)];
+            }
+        }
+    }
+
+    // Moves the best of the moves from index onwards to index and returns it
+    int next(MoveBuffer moves, int ply, int index) {
+        int[] plyScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (plyScores[i] > plyScores[best]) {
+                best = i;
+            }
+        }
+
+        int move = moves.get(best);
+        if (best != index) {
+            moves.set(best, moves.get(index));
+            moves.set(index, move);
+            int score = plyScores[best];
+            plyScores[best] = plyScores[index];
+            plyScores[index] = score;
+        }
+        return move;
+    }
+
+    // A quiet move refuted the opponent's last move; captures are already ordered well enough
+    void recordCutoff(int move, int ply, int depth) {
+        if (Moves.isCapture(move)) {
+            return;
+        }
+
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+
+        int[] fromHistory = history[Moves.from(move)];
+        fromHistory[Moves.to(move)] += depth * depth;
+        if (fromHistory[Moves.to(move)] >= HISTORY_LIMIT) {
+            ageHistory();
+        }
+    }
+
+    private void ageHistory() {
+        for (int[] fromHistory : history) {
+            for (int to = 0; to < fromHistory.length; to++) {
+                fromHistory[to] >>= 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package services.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Storage in direct buffers outside the Java heap, so a large table neither counts
+ * against the heap size nor has to be scanned or copied by the garbage collector.
+ * A single buffer is limited to 2 GB, so the table is split into chunks of a
+ * power-of-two size and an index is split into a chunk and an offset.
+ */
+public class OffHeapTableStorage implements TableStorage {
+    // 2^27 longs = 1 GB per chunk
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final LongBuffer[] chunks;
+    private final long size;
+
+    public OffHeapTableStorage(long size) {
+        this.size = size;
+        int chunkCount = (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+        this.chunks = new LongBuffer[chunkCount];
+
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            long chunkSize = Math.min(size - ((long) chunk << CHUNK_SHIFT), 1L << CHUNK_SHIFT);
+            chunks[chunk] = ByteBuffer.allocateDirect((int) (chunkSize * Long.BYTES))
+                    .order(ByteOrder.nativeOrder())
+                    .asLongBuffer();
+        }
+    }
+
+    @Override
+    public long get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    @Override
+    public void set(long index, long value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (LongBuffer chunk : chunks) {
+            for (int i = 0; i < chunk.capacity(); i++) {
+                chunk.put(i, 0L);
+            }
+        }
+    }
+}
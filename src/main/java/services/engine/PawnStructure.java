@@ -0,0 +1,100 @@
+package services.engine;
+
+import services.bitboard.BitboardPosition;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Pawn-structure terms: doubled, isolated and passed pawns, with a middlegame
+ * and an endgame value each. The result depends on the pawns alone, which is
+ * what lets {@link PawnTable} cache it under the pawn key.
+ * <p>
+ * Both values travel packed in one int, the endgame value in the upper half, so
+ * a cache entry is a single word next to its key.
+ */
+final class PawnStructure {
+    private static final int DOUBLED_MIDDLEGAME = 10;
+    private static final int DOUBLED_ENDGAME = 20;
+    private static final int ISOLATED_MIDDLEGAME = 10;
+    private static final int ISOLATED_ENDGAME = 15;
+
+    // By rank counted from the pawn's own side, the first rank at index 0. Without promotion a pawn on
+    // the last rank can never move again, so it gets nothing and the seventh rank gets the most
+    private static final int[] PASSED_MIDDLEGAME = {0, 5, 10, 15, 25, 45, 70, 0};
+    private static final int[] PASSED_ENDGAME = {0, 10, 15, 25, 45, 75, 120, 0};
+
+    private static final long[] ADJACENT_FILES = new long[8];
+    // Squares in front of a pawn, on its own file and the two beside it, by color
+    private static final long[][] PASSED_SPANS = new long[2][64];
+
+    static {
+        for (int x = 0; x < 8; x++) {
+            long file = FILE_A << x;
+            ADJACENT_FILES[x] = ((file << 1) & NOT_FILE_A) | ((file >>> 1) & NOT_FILE_H);
+        }
+        for (int square = 0; square < 64; square++) {
+            long files = ADJACENT_FILES[squareX(square)] | (FILE_A << squareX(square));
+            for (int y = 0; y < 8; y++) {
+                if (y < squareY(square)) {
+                    PASSED_SPANS[WHITE][square] |= files & rankMask(y);
+                } else if (y > squareY(square)) {
+                    PASSED_SPANS[BLACK][square] |= files & rankMask(y);
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {
+    }
+
+    // White minus black, packed
+    static int evaluate(BitboardPosition position) {
+        long whitePawns = position.getPieces(WHITE, PAWN);
+        long blackPawns = position.getPieces(BLACK, PAWN);
+
+        int middlegame = 0;
+        int endgame = 0;
+        for (int colorIndex = WHITE; colorIndex <= BLACK; colorIndex++) {
+            long ownPawns = colorIndex == WHITE ? whitePawns : blackPawns;
+            long enemyPawns = colorIndex == WHITE ? blackPawns : whitePawns;
+            int sign = colorIndex == WHITE ? 1 : -1;
+
+            for (int x = 0; x < 8; x++) {
+                int onFile = Long.bitCount(ownPawns & (FILE_A << x));
+                if (onFile > 1) {
+                    middlegame -= sign * DOUBLED_MIDDLEGAME * (onFile - 1);
+                    endgame -= sign * DOUBLED_ENDGAME * (onFile - 1);
+                }
+            }
+
+            long pawns = ownPawns;
+            while (pawns != 0) {
+                int square = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+
+                if ((ownPawns & ADJACENT_FILES[squareX(square)]) == 0) {
+                    middlegame -= sign * ISOLATED_MIDDLEGAME;
+                    endgame -= sign * ISOLATED_ENDGAME;
+                }
+                if ((enemyPawns & PASSED_SPANS[colorIndex][square]) == 0) {
+                    int rank = colorIndex == WHITE ? 7 - squareY(square) : squareY(square);
+                    middlegame += sign * PASSED_MIDDLEGAME[rank];
+                    endgame += sign * PASSED_ENDGAME[rank];
+                }
+            }
+        }
+        return pack(middlegame, endgame);
+    }
+
+    static int pack(int middlegame, int endgame) {
+        return (endgame << 16) + middlegame;
+    }
+
+    static int middlegame(int packed) {
+        return (short) packed;
+    }
+
+    static int endgame(int packed) {
+        return (packed + 0x8000) >> 16;
+    }
+}
@@ -0,0 +1,68 @@
+package services.engine;
+
+import services.bitboard.BitboardPosition;
+
+/**
+ * Direct-mapped cache of {@link PawnStructure} scores keyed by the pawn key of
+ * the position. Pawns move in a small share of the moves of a search, so nearly
+ * every lookup finds the structure already scored. A slot holds one entry and a
+ * newer structure simply overwrites it.
+ * <p>
+ * Not thread-safe: every search thread keeps a table of its own. Probes and hits
+ * are counted so the hit rate can be watched.
+ */
+public class PawnTable {
+    public static final int DEFAULT_ENTRIES = 1 << 14;
+
+    private final long[] keys;
+    private final int[] scores;
+    private final int mask;
+    private long probes;
+    private long hits;
+
+    public PawnTable() {
+        this(DEFAULT_ENTRIES);
+    }
+
+    public PawnTable(int entries) {
+        if (entries <= 0 || Integer.bitCount(entries) != 1) {
+            throw new IllegalArgumentException("Entry count must be a power of two, got " + entries);
+        }
+
+        this.keys = new long[entries];
+        this.scores = new int[entries];
+        this.mask = entries - 1;
+        // Key 0 is a real key (no pawns), so mark the empty slots with a key they cannot have
+        for (int i = 0; i < entries; i++) {
+            keys[i] = ~i;
+        }
+    }
+
+    // Packed pawn-structure score of the position, computed and stored on a miss
+    int probe(BitboardPosition position) {
+        long key = position.getPawnKey();
+        int index = (int) key & mask;
+        probes++;
+        if (keys[index] == key) {
+            hits++;
+            return scores[index];
+        }
+
+        int score = PawnStructure.evaluate(position);
+        keys[index] = key;
+        scores[index] = score;
+        return score;
+    }
+
+    public long getProbes() {
+        return probes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public double getHitRate() {
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+}
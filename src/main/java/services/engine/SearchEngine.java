@@ -0,0 +1,25 @@
+package services.engine;
+
+import services.bitboard.BitboardPosition;
+import services.board.BoardService;
+import services.board.PositionSnapshot;
+import services.utils.Clock;
+
+public interface SearchEngine extends AutoCloseable {
+
+    // Searches the position of the board service for the side to move, within a budget taken from its clock
+    SearchResult search(BoardService boardService, Clock clock);
+
+    // The position is not modified; the search works on a copy
+    SearchResult search(BitboardPosition position, int sideToMove, SearchLimits limits);
+
+    // Analyses a published snapshot without touching the game it came from, so any thread may call it
+    default SearchResult search(PositionSnapshot snapshot, SearchLimits limits) {
+        return search(snapshot.toPosition(), snapshot.getSideToMove(), limits);
+    }
+
+    // Releases the threads the engine keeps between searches; it cannot search afterwards
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,201 @@
+package services.engine;
+
+import services.bitboard.BitboardPosition;
+import services.bitboard.Bitboards;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+import services.bitboard.PositionHistory;
+import services.bitboard.Zobrist;
+import services.board.BoardService;
+import services.tablebase.Tablebases;
+import services.utils.Clock;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Iterative deepening: searches depth 1, 2, 3, ... until the depth limit or the
+ * deadline is reached and answers with the deepest completed iteration. A new
+ * iteration is not started once half of the budget is gone, since it would
+ * almost certainly be cut off before finishing.
+ * <p>
+ * With more than one thread the search is a lazy SMP search: helper threads run
+ * the same iterative deepening on their own copies of the position and only
+ * cooperate through the shared transposition table. Odd-numbered helpers start
+ * one ply deeper, so the threads are spread over two depths at a time. The main
+ * thread decides when to stop; the answer is taken from whichever thread
+ * completed the deepest iteration.
+ * <p>
+ * The transposition table is kept from one search to the next, as is the pawn
+ * table of each thread. Positions covered by the endgame tables, if any are
+ * given, are scored exactly from them. When searching the position of a board
+ * service, its game history is passed on, so the search sees repetitions of
+ * positions played before the root.
+ */
+public class SearchEngineImpl implements SearchEngine {
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    // Searchers stop this long before the budget runs out, to unwind and assemble the answer in time
+    private static final long UNWIND_NANOS = 200_000L;
+
+    private final TranspositionTable transpositionTable;
+    private final int threads;
+    private final PawnTable[] pawnTables;
+    private final Tablebases tablebases;
+    private final ExecutorService helperPool;
+
+    public SearchEngineImpl() {
+        this(TranspositionTable.ofMegabytes(DEFAULT_TABLE_MEGABYTES, false));
+    }
+
+    public SearchEngineImpl(TranspositionTable transpositionTable) {
+        this(transpositionTable, 1);
+    }
+
+    public SearchEngineImpl(TranspositionTable transpositionTable, int threads) {
+        this(transpositionTable, threads, Tablebases.empty());
+    }
+
+    public SearchEngineImpl(TranspositionTable transpositionTable, int threads, Tablebases tablebases) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one search thread is needed, got " + threads);
+        }
+
+        this.transpositionTable = transpositionTable;
+        this.threads = threads;
+        this.tablebases = tablebases;
+        this.pawnTables = new PawnTable[threads];
+        for (int i = 0; i < threads; i++) {
+            pawnTables[i] = new PawnTable();
+        }
+        this.helperPool = threads > 1
+                ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+                    Thread thread = new Thread(runnable, "search-helper");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    @Override
+    public SearchResult search(BoardService boardService, Clock clock) {
+        int sideToMove = boardService.isWhiteTurn() ? Bitboards.WHITE : Bitboards.BLACK;
+
+        return search(boardService.copyPosition(), sideToMove, SearchLimits.time(TimeManager.budgetMillis(clock)),
+                boardService.getPositionHistory());
+    }
+
+    // Without a game history only repetitions inside the search are seen
+    @Override
+    public SearchResult search(BitboardPosition position, int sideToMove, SearchLimits limits) {
+        long key = position.getZobristKey() ^ (sideToMove == Bitboards.BLACK ? Zobrist.sideToMoveKey() : 0L);
+        return search(position, sideToMove, limits, new PositionHistory(key));
+    }
+
+    // The history ends with the position to search; neither is modified
+    public SearchResult search(BitboardPosition position, int sideToMove, SearchLimits limits,
+                               PositionHistory history) {
+        long start = System.nanoTime();
+        transpositionTable.newSearch();
+
+        AtomicBoolean stopSignal = new AtomicBoolean();
+        long deadline = start + Math.max(limits.getBudgetNanos() - UNWIND_NANOS, 0L);
+        Searcher[] searchers = new Searcher[threads];
+        for (int i = 0; i < threads; i++) {
+            searchers[i] = new Searcher(position.copy(), transpositionTable, pawnTables[i], tablebases, history.copy(),
+                    stopSignal);
+            if (limits.hasTimeLimit()) {
+                searchers[i].setDeadline(deadline);
+            }
+        }
+
+        Future<?>[] helpers = new Future<?>[threads - 1];
+        for (int i = 1; i < threads; i++) {
+            Searcher helper = searchers[i];
+            int firstDepth = Math.min(1 + (i & 1), limits.getMaxDepth());
+            helpers[i - 1] = helperPool.submit(() ->
+                    helper.iterate(sideToMove, firstDepth, limits.getMaxDepth()));
+        }
+
+        searchers[0].iterate(sideToMove, 1, limits.getMaxDepth(), start + limits.getBudgetNanos() / 2);
+        stopSignal.set(true);
+        awaitHelpers(helpers);
+
+        return mergeResults(searchers, position, sideToMove, start);
+    }
+
+    @Override
+    public void close() {
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    // Over all threads and every search so far
+    public double getPawnTableHitRate() {
+        long probes = 0L;
+        long hits = 0L;
+        for (PawnTable pawnTable : pawnTables) {
+            probes += pawnTable.getProbes();
+            hits += pawnTable.getHits();
+        }
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    private void awaitHelpers(Future<?>[] helpers) {
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+        }
+    }
+
+    // Deepest completed iteration wins; the main thread wins ties
+    private SearchResult mergeResults(Searcher[] searchers, BitboardPosition position, int sideToMove, long start) {
+        Searcher best = searchers[0];
+        long nodes = 0L;
+        long betaCutoffs = 0L;
+        long firstMoveCutoffs = 0L;
+        for (Searcher searcher : searchers) {
+            nodes += searcher.getNodes();
+            betaCutoffs += searcher.getBetaCutoffs();
+            firstMoveCutoffs += searcher.getFirstMoveCutoffs();
+            if (searcher.getCompletedDepth() > best.getCompletedDepth()
+                    && searcher.getCompletedVariation().length > 0) {
+                best = searcher;
+            }
+        }
+
+        if (best.getCompletedDepth() == 0) {
+            return fallbackResult(position, sideToMove, nodes, start);
+        }
+
+        int[] principalVariation = best.getCompletedVariation();
+        int bestMove = principalVariation.length > 0 ? principalVariation[0] : Moves.NONE;
+        return new SearchResult(bestMove, best.getCompletedScore(), best.getCompletedDepth(), principalVariation,
+                nodes, System.nanoTime() - start, betaCutoffs, firstMoveCutoffs);
+    }
+
+    // Used when not even depth 1 completes in time: any legal move beats none
+    private SearchResult fallbackResult(BitboardPosition position, int sideToMove, long nodes, long start) {
+        MoveBuffer moves = new MoveBuffer();
+        LegalMoveGenerator.generateLegalMoves(position, sideToMove, moves);
+        int move = moves.isEmpty() ? Moves.NONE : moves.get(0);
+        int[] principalVariation = moves.isEmpty() ? new int[0] : new int[]{move};
+
+        return new SearchResult(move, 0, 0, principalVariation, nodes, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,36 @@
+package services.engine;
+
+import lombok.Getter;
+
+/**
+ * How deep and how long a search may run. The time budget is a hard limit: the
+ * search is abandoned as soon as it runs out and the last completed depth is used.
+ */
+@Getter
+public class SearchLimits {
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+
+    private final int maxDepth;
+    private final long budgetNanos;
+
+    private SearchLimits(int maxDepth, long budgetNanos) {
+        this.maxDepth = Math.min(maxDepth, Searcher.MAX_PLY - 1);
+        this.budgetNanos = budgetNanos;
+    }
+
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, NO_TIME_LIMIT);
+    }
+
+    public static SearchLimits time(long budgetMillis) {
+        return new SearchLimits(Searcher.MAX_PLY - 1, budgetMillis * 1_000_000L);
+    }
+
+    public static SearchLimits of(int maxDepth, long budgetMillis) {
+        return new SearchLimits(maxDepth, budgetMillis * 1_000_000L);
+    }
+
+    public boolean hasTimeLimit() {
+        return budgetNanos != NO_TIME_LIMIT;
+    }
+}
@@ -0,0 +1,64 @@
+package services.engine;
+
+import lombok.Getter;
+import services.bitboard.Moves;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a search: the move to play, its score in centipawns from the point
+ * of view of the side to move, and the principal variation starting with that move.
+ */
+@Getter
+public class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final int[] principalVariation;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final long betaCutoffs;
+    private final long firstMoveCutoffs;
+
+    public SearchResult(int bestMove, int score, int depth, int[] principalVariation, long nodes, long elapsedNanos) {
+        this(bestMove, score, depth, principalVariation, nodes, elapsedNanos, 0L, 0L);
+    }
+
+    public SearchResult(int bestMove, int score, int depth, int[] principalVariation, long nodes, long elapsedNanos,
+                        long betaCutoffs, long firstMoveCutoffs) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.principalVariation = principalVariation;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.betaCutoffs = betaCutoffs;
+        this.firstMoveCutoffs = firstMoveCutoffs;
+    }
+
+    public boolean hasMove() {
+        return bestMove != Moves.NONE;
+    }
+
+    // Share of beta cutoffs produced by the first move tried; close to 1 when move ordering works
+    public double getFirstMoveCutoffRate() {
+        return betaCutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / betaCutoffs;
+    }
+
+    public boolean isMateScore() {
+        return Evaluation.isMateScore(score);
+    }
+
+    public String getPrincipalVariationNotation() {
+        return Arrays.stream(principalVariation)
+                .mapToObj(Moves::toNotation)
+                .collect(Collectors.joining(" "));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d score %d nodes %d first-move cutoffs %.1f%% pv %s",
+                depth, score, nodes, getFirstMoveCutoffRate() * 100, getPrincipalVariationNotation());
+    }
+}
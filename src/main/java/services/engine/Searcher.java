@@ -0,0 +1,357 @@
+package services.engine;
+
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+import services.bitboard.PositionHistory;
+import services.bitboard.Zobrist;
+import services.tablebase.Tablebases;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static services.bitboard.Bitboards.BLACK;
+import static services.bitboard.Bitboards.PAWN;
+import static services.bitboard.Bitboards.codeType;
+import static services.bitboard.Bitboards.opponent;
+
+/**
+ * Principal variation search over one private copy of the position. The first
+ * move at a node is searched with the full window; the others with a null window
+ * around alpha, and only re-searched when they unexpectedly beat it. Moves are
+ * played and taken back on the same position and every ply has its own move
+ * buffer, so a search does not allocate.
+ * <p>
+ * Results are shared through the transposition table. A stored score cuts the
+ * search short only at null-window nodes, so the principal variation is always
+ * searched out in full.
+ * <p>
+ * At depth 0 a quiescence search plays out captures until the position is
+ * quiet, so a leaf is never scored in the middle of an exchange. It only looks
+ * at captures the static exchange evaluation does not expect to lose, and skips
+ * captures that could not lift the score to alpha even if nothing was taken back
+ * (delta pruning). When in check it searches every evasion instead.
+ * <p>
+ * Below the root, a position that repeats one earlier in the line or in the
+ * game, or that comes after a hundred plies without a capture or a pawn move,
+ * is scored as a draw. The keys along the line are kept in a
+ * {@link PositionHistory} that starts from the game's history. A position
+ * covered by an endgame table gets its exact score from the table instead of
+ * being searched.
+ * <p>
+ * Moves are tried in the order given by a {@link MoveOrderer}. The share of beta
+ * cutoffs that come from the first move tried shows how well that order works.
+ * <p>
+ * The deadline and the shared stop signal are checked every
+ * {@link #TIME_CHECK_INTERVAL} nodes. Once either fires, every node returns
+ * straight away and the unfinished iteration is discarded.
+ */
+class Searcher {
+    static final int MAX_PLY = 64;
+
+    // Power of two; a few dozen nodes take well under a tenth of a millisecond
+    private static final int TIME_CHECK_INTERVAL = 64;
+
+    // Room for positional swings a capture can bring on top of the material it wins
+    private static final int DELTA_MARGIN = 200;
+
+    private final BitboardPosition position;
+    private final TranspositionTable transpositionTable;
+    private final PawnTable pawnTable;
+    private final Tablebases tablebases;
+    private final PositionHistory history;
+    private final AtomicBoolean stopSignal;
+    private final MoveBuffer[] buffers = new MoveBuffer[MAX_PLY];
+    private final int[][] pvTable = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+    private final MoveOrderer moveOrderer = new MoveOrderer();
+    private final StaticExchange staticExchange = new StaticExchange();
+
+    private boolean timed;
+    private long deadlineNanos;
+    private boolean stopped;
+    private long nodes;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+
+    private int completedDepth;
+    private int completedScore;
+    private int[] completedVariation = new int[0];
+
+    Searcher(BitboardPosition position, TranspositionTable transpositionTable, PawnTable pawnTable,
+             Tablebases tablebases, PositionHistory history, AtomicBoolean stopSignal) {
+        this.position = position;
+        this.transpositionTable = transpositionTable;
+        this.pawnTable = pawnTable;
+        this.tablebases = tablebases;
+        this.history = history;
+        this.stopSignal = stopSignal;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            buffers[ply] = new MoveBuffer();
+        }
+    }
+
+    void setDeadline(long deadlineNanos) {
+        this.timed = true;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Iterative deepening from firstDepth to maxDepth, keeping the result of the
+     * last iteration that finished. Stops early when stopped, when a mate is found,
+     * or when the soft deadline has passed after an iteration, since the next one
+     * would most likely not finish anyway.
+     */
+    void iterate(int colorIndex, int firstDepth, int maxDepth, long softDeadlineNanos) {
+        iterate(colorIndex, firstDepth, maxDepth, true, softDeadlineNanos);
+    }
+
+    // Without a soft deadline, as the helper threads run: only the stop signal or the hard deadline ends it early
+    void iterate(int colorIndex, int firstDepth, int maxDepth) {
+        iterate(colorIndex, firstDepth, maxDepth, false, 0L);
+    }
+
+    // No sentinel deadline: nanoTime may be negative, so subtracting one far in the future could overflow
+    private void iterate(int colorIndex, int firstDepth, int maxDepth, boolean hasSoftDeadline, long softDeadlineNanos) {
+        for (int depth = firstDepth; depth <= maxDepth; depth++) {
+            int score = pvs(colorIndex, depth, 0, -Evaluation.INFINITY, Evaluation.INFINITY);
+            if (stopped) {
+                return;
+            }
+
+            completedDepth = depth;
+            completedScore = score;
+            completedVariation = getPrincipalVariation();
+
+            if (completedVariation.length == 0 || Evaluation.isMateScore(score)) {
+                return;
+            }
+            if (timed && hasSoftDeadline && System.nanoTime() - softDeadlineNanos > 0) {
+                return;
+            }
+        }
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    int getCompletedScore() {
+        return completedScore;
+    }
+
+    int[] getCompletedVariation() {
+        return completedVariation;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    long getBetaCutoffs() {
+        return betaCutoffs;
+    }
+
+    long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    private int[] getPrincipalVariation() {
+        int[] variation = new int[pvLength[0]];
+        System.arraycopy(pvTable[0], 0, variation, 0, variation.length);
+        return variation;
+    }
+
+    private int pvs(int colorIndex, int depth, int ply, int alpha, int beta) {
+        if (ply > 0) {
+            // Leaves decided by the history or the tables are nodes too, and must not outlast the deadline
+            if (history.isRepetition() || history.isFiftyMoveDraw()) {
+                pvLength[ply] = 0;
+                return countNodeAndCheckStop() ? 0 : Evaluation.DRAW;
+            }
+            int tablebaseCode = tablebases.probe(position, colorIndex);
+            if (tablebaseCode != Tablebases.NOT_FOUND) {
+                pvLength[ply] = 0;
+                return countNodeAndCheckStop() ? 0 : Evaluation.tablebaseScore(tablebaseCode, ply);
+            }
+        }
+        if (depth <= 0) {
+            return quiescence(colorIndex, ply, alpha, beta);
+        }
+        if (countNodeAndCheckStop()) {
+            return 0;
+        }
+
+        pvLength[ply] = 0;
+        if (ply >= MAX_PLY - 1) {
+            return Evaluation.evaluate(position, colorIndex, pawnTable);
+        }
+
+        long key = position.getZobristKey() ^ (colorIndex == BLACK ? Zobrist.sideToMoveKey() : 0L);
+        boolean pvNode = beta - alpha > 1;
+        long entry = transpositionTable.probe(key);
+        int tableMove = entry != 0 ? TranspositionTable.move(entry) : 0;
+        if (entry != 0 && !pvNode && TranspositionTable.depth(entry) >= depth) {
+            int tableScore = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.BOUND_EXACT
+                    || (bound == TranspositionTable.BOUND_LOWER && tableScore >= beta)
+                    || (bound == TranspositionTable.BOUND_UPPER && tableScore <= alpha)) {
+                return tableScore;
+            }
+        }
+
+        MoveBuffer moves = buffers[ply];
+        moves.clear();
+        LegalMoveGenerator.generateLegalMoves(position, colorIndex, moves);
+        if (moves.isEmpty()) {
+            return BitboardMoveGenerator.isInCheck(position, colorIndex) ? Evaluation.matedIn(ply) : Evaluation.DRAW;
+        }
+        moveOrderer.scoreMoves(moves, ply, tableMove);
+
+        int them = opponent(colorIndex);
+        int originalAlpha = alpha;
+        int bestScore = -Evaluation.INFINITY;
+        int bestMove = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moveOrderer.next(moves, ply, i);
+            position.makeMove(move);
+            history.push(position.getZobristKey() ^ (them == BLACK ? Zobrist.sideToMoveKey() : 0L),
+                    Moves.isCapture(move) || codeType(Moves.piece(move)) == PAWN);
+
+            int score;
+            if (i == 0) {
+                score = -pvs(them, depth - 1, ply + 1, -beta, -alpha);
+            } else {
+                score = -pvs(them, depth - 1, ply + 1, -alpha - 1, -alpha);
+                if (score > alpha && score < beta) {
+                    score = -pvs(them, depth - 1, ply + 1, -beta, -alpha);
+                }
+            }
+
+            history.pop();
+            position.unmakeMove(move);
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if (alpha >= beta) {
+                        betaCutoffs++;
+                        if (i == 0) {
+                            firstMoveCutoffs++;
+                        }
+                        moveOrderer.recordCutoff(move, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT
+                : TranspositionTable.BOUND_UPPER;
+        transpositionTable.store(key, bestMove, TranspositionTable.scoreToTable(bestScore, ply), depth, bound);
+
+        return bestScore;
+    }
+
+    private int quiescence(int colorIndex, int ply, int alpha, int beta) {
+        if (countNodeAndCheckStop()) {
+            return 0;
+        }
+
+        pvLength[ply] = 0;
+        if (ply >= MAX_PLY - 1) {
+            return Evaluation.evaluate(position, colorIndex, pawnTable);
+        }
+
+        boolean inCheck = BitboardMoveGenerator.isInCheck(position, colorIndex);
+        int standPat = inCheck ? -Evaluation.INFINITY : Evaluation.evaluate(position, colorIndex, pawnTable);
+        if (standPat >= beta) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        MoveBuffer moves = buffers[ply];
+        moves.clear();
+        if (inCheck) {
+            LegalMoveGenerator.generateLegalMoves(position, colorIndex, moves);
+            if (moves.isEmpty()) {
+                return Evaluation.matedIn(ply);
+            }
+        } else {
+            LegalMoveGenerator.generateLegalCaptures(position, colorIndex, moves);
+        }
+        moveOrderer.scoreMoves(moves, ply, 0);
+
+        int them = opponent(colorIndex);
+        int bestScore = standPat;
+        int searched = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moveOrderer.next(moves, ply, i);
+            if (!inCheck) {
+                if (standPat + StaticExchange.value(Moves.captured(move)) + DELTA_MARGIN <= alpha) {
+                    continue;
+                }
+                if (staticExchange.evaluate(position, move) < 0) {
+                    continue;
+                }
+            }
+
+            position.makeMove(move);
+            int score = -quiescence(them, ply + 1, -beta, -alpha);
+            position.unmakeMove(move);
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if (alpha >= beta) {
+                        betaCutoffs++;
+                        if (searched == 0) {
+                            firstMoveCutoffs++;
+                        }
+                        break;
+                    }
+                }
+            }
+            searched++;
+        }
+
+        return bestScore;
+    }
+
+    // Counts the node; true once the deadline has passed or another thread asked to stop
+    private boolean countNodeAndCheckStop() {
+        if ((++nodes & (TIME_CHECK_INTERVAL - 1)) == 0
+                && (stopSignal.get() || (timed && System.nanoTime() - deadlineNanos >= 0))) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    // The line below this node is the move followed by the line found below its child
+    private void updatePrincipalVariation(int ply, int move) {
+        pvTable[ply][0] = move;
+        int childLength = pvLength[ply + 1];
+        System.arraycopy(pvTable[ply + 1], 0, pvTable[ply], 1, childLength);
+        pvLength[ply] = childLength + 1;
+    }
+}
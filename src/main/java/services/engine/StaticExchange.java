@@ -0,0 +1,82 @@
+package services.engine;
+
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.MagicBitboards;
+import services.bitboard.Moves;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Static exchange evaluation: the material balance of the capture sequence on
+ * one square when both sides always recapture with their least valuable piece
+ * and may stop whenever continuing would lose material. Sliders hidden behind a
+ * piece that has captured join in as the occupancy is updated, so batteries are
+ * counted. Pins and checks are ignored.
+ * <p>
+ * Works on the masks only, without playing moves. One instance belongs to one
+ * search thread and reuses its swap list.
+ */
+class StaticExchange {
+    // The king is worth more than anything it can win, so it only ever recaptures last
+    private static final int[] EXCHANGE_VALUES = {
+            Evaluation.PIECE_VALUES[PAWN], Evaluation.PIECE_VALUES[KNIGHT], Evaluation.PIECE_VALUES[BISHOP],
+            Evaluation.PIECE_VALUES[ROOK], Evaluation.PIECE_VALUES[QUEEN], 20_000
+    };
+
+    // One entry per capture; there are never more than 32 pieces
+    private final int[] gains = new int[33];
+
+    static int value(int pieceCode) {
+        return EXCHANGE_VALUES[codeType(pieceCode)];
+    }
+
+    int evaluate(BitboardPosition position, int move) {
+        int to = Moves.to(move);
+        int attackerCode = Moves.piece(move);
+        int side = codeColor(attackerCode);
+
+        long occupancy = position.getOccupancy();
+        long fromBit = squareBit(Moves.from(move));
+        long diagonalSliders = position.getPieces(WHITE, BISHOP) | position.getPieces(BLACK, BISHOP)
+                | position.getPieces(WHITE, QUEEN) | position.getPieces(BLACK, QUEEN);
+        long straightSliders = position.getPieces(WHITE, ROOK) | position.getPieces(BLACK, ROOK)
+                | position.getPieces(WHITE, QUEEN) | position.getPieces(BLACK, QUEEN);
+        long attackers = BitboardMoveGenerator.getAttackers(position, to, WHITE, occupancy)
+                | BitboardMoveGenerator.getAttackers(position, to, BLACK, occupancy);
+
+        int depth = 0;
+        gains[0] = Moves.isCapture(move) ? value(Moves.captured(move)) : 0;
+        int attackerValue = value(attackerCode);
+
+        while (true) {
+            depth++;
+            // What the other side stands at if it takes the piece that just captured
+            gains[depth] = attackerValue - gains[depth - 1];
+
+            occupancy ^= fromBit;
+            attackers = (attackers
+                    | (MagicBitboards.bishopAttacks(to, occupancy) & diagonalSliders)
+                    | (MagicBitboards.rookAttacks(to, occupancy) & straightSliders)) & occupancy;
+
+            side = opponent(side);
+            fromBit = 0L;
+            for (int typeIndex = PAWN; typeIndex <= KING; typeIndex++) {
+                long candidates = attackers & position.getPieces(side, typeIndex);
+                if (candidates != 0) {
+                    fromBit = Long.lowestOneBit(candidates);
+                    attackerValue = EXCHANGE_VALUES[typeIndex];
+                    break;
+                }
+            }
+            if (fromBit == 0) {
+                break;
+            }
+        }
+
+        while (--depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+        }
+        return gains[0];
+    }
+}
@@ -0,0 +1,17 @@
+package services.engine;
+
+/**
+ * Flat array of longs behind the transposition table, either on the Java heap or
+ * outside it. Reads and writes are plain, unsynchronised accesses to aligned
+ * 64-bit words, which the table's key check makes safe to race on.
+ */
+public interface TableStorage {
+
+    long get(long index);
+
+    void set(long index, long value);
+
+    long size();
+
+    void clear();
+}
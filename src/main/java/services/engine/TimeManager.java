@@ -0,0 +1,32 @@
+package services.engine;
+
+import services.utils.Clock;
+
+/**
+ * Turns the time left on a clock into a budget for one move. The budget assumes
+ * a fixed number of moves still to play and normally leaves a reserve on the
+ * clock. When the clock is nearly out the budget shrinks with it, down to
+ * nothing, and never exceeds the time left less the margin a search may
+ * overrun its deadline by, so a search that uses its full budget cannot lose
+ * on time.
+ */
+public final class TimeManager {
+    static final int MOVES_TO_GO = 30;
+    static final long RESERVE_MILLIS = 50;
+    static final long MIN_BUDGET_MILLIS = 5;
+    // Searches stop well within a millisecond of their deadline
+    static final long SAFETY_MARGIN_MILLIS = 1;
+
+    private TimeManager() {
+    }
+
+    public static long budgetMillis(Clock clock) {
+        return budgetMillis(clock.getRemainingMillis());
+    }
+
+    public static long budgetMillis(long remainingMillis) {
+        long budget = Math.max((remainingMillis - RESERVE_MILLIS) / MOVES_TO_GO, MIN_BUDGET_MILLIS);
+
+        return Math.max(Math.min(budget, remainingMillis - SAFETY_MARGIN_MILLIS), 0L);
+    }
+}
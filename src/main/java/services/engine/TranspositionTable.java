@@ -0,0 +1,174 @@
+package services.engine;
+
+/**
+ * Fixed-size hash table of search results keyed by Zobrist key.
+ * <p>
+ * Every bucket holds two entries of two longs each: the first entry is
+ * depth-preferred and only gives way to a deeper search, a search of the same
+ * position or an entry left over from an earlier move; the second is replaced
+ * unconditionally. An entry is stored as {@code key ^ data} followed by
+ * {@code data}. Threads read and write without locking, and a reader that sees
+ * half of one write and half of another gets a pair that fails the key check
+ * and treats it as a miss.
+ * <p>
+ * {@link #probe} returns the packed data word, 0 on a miss; the static accessors
+ * unpack it, so probing allocates nothing.
+ * <pre>
+ *   bits  0-23  best move, Moves.NONE if unknown
+ *   bits 24-43  score, offset by 2^19
+ *   bits 44-51  depth
+ *   bits 52-53  bound; never 0 for a stored entry
+ *   bits 54-61  generation
+ * </pre>
+ */
+public class TranspositionTable {
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final long BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+    private static final int SCORE_OFFSET = 1 << 19;
+
+    private final TableStorage storage;
+    private final long bucketMask;
+    private int generation;
+
+    public TranspositionTable(TableStorage storage) {
+        long buckets = Long.highestOneBit(storage.size() / LONGS_PER_BUCKET);
+        if (buckets == 0) {
+            throw new IllegalArgumentException("Storage too small for a single bucket");
+        }
+
+        this.storage = storage;
+        this.bucketMask = buckets - 1;
+    }
+
+    // Largest power-of-two number of buckets that fits in the given size
+    public static TranspositionTable ofMegabytes(long megabytes, boolean offHeap) {
+        long buckets = Long.highestOneBit(Math.max(megabytes * 1024 * 1024 / BYTES_PER_BUCKET, 1));
+        long size = buckets * LONGS_PER_BUCKET;
+
+        return new TranspositionTable(offHeap ? new OffHeapTableStorage(size) : new HeapTableStorage(size));
+    }
+
+    /**
+     * Stores a search result. Mate scores have to be made relative to the node
+     * first, see {@link #scoreToTable}.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        long data = pack(move, score, depth, bound, generation);
+        long bucket = (key & bucketMask) * LONGS_PER_BUCKET;
+
+        long preferredData = storage.get(bucket + 1);
+        boolean sameKey = (storage.get(bucket) ^ preferredData) == key;
+        if (sameKey || preferredData == 0 || depth >= depth(preferredData)
+                || generation(preferredData) != generation) {
+            // Keep the best move of a search that did not find one of its own
+            if (sameKey && move == 0) {
+                data |= preferredData & 0xFFFFFFL;
+            }
+            storage.set(bucket, key ^ data);
+            storage.set(bucket + 1, data);
+            return;
+        }
+
+        storage.set(bucket + 2, key ^ data);
+        storage.set(bucket + 3, data);
+    }
+
+    // Packed data of the entry for the key, or 0 when there is none
+    public long probe(long key) {
+        long bucket = (key & bucketMask) * LONGS_PER_BUCKET;
+
+        long data = storage.get(bucket + 1);
+        if ((storage.get(bucket) ^ data) == key && data != 0) {
+            return data;
+        }
+
+        data = storage.get(bucket + 3);
+        if ((storage.get(bucket + 2) ^ data) == key && data != 0) {
+            return data;
+        }
+
+        return 0L;
+    }
+
+    // Called once per search, so that entries of earlier searches become replaceable
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        storage.clear();
+        generation = 0;
+    }
+
+    public long getBucketCount() {
+        return bucketMask + 1;
+    }
+
+    // Entries of the current search per thousand, estimated from the first thousand buckets
+    public int hashfull() {
+        long sample = Math.min(1000, getBucketCount());
+        int used = 0;
+        for (long bucket = 0; bucket < sample; bucket++) {
+            for (int slot = 1; slot < LONGS_PER_BUCKET; slot += 2) {
+                long data = storage.get(bucket * LONGS_PER_BUCKET + slot);
+                if (data != 0 && generation(data) == generation) {
+                    used++;
+                }
+            }
+        }
+        return (int) (used * 500 / sample);
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0xFFFFFF);
+    }
+
+    public static int score(long data) {
+        return (int) ((data >>> 24) & 0xFFFFF) - SCORE_OFFSET;
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> 44) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> 52) & 0x3);
+    }
+
+    static int generation(long data) {
+        return (int) ((data >>> 54) & 0xFF);
+    }
+
+    // Mate scores are stored as the distance from this node instead of from the root
+    public static int scoreToTable(int score, int ply) {
+        if (score >= Evaluation.MATE - Evaluation.MAX_MATE_PLIES) {
+            return score + ply;
+        }
+        if (score <= -Evaluation.MATE + Evaluation.MAX_MATE_PLIES) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= Evaluation.MATE - Evaluation.MAX_MATE_PLIES) {
+            return score - ply;
+        }
+        if (score <= -Evaluation.MATE + Evaluation.MAX_MATE_PLIES) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private static long pack(int move, int score, int depth, int bound, int generation) {
+        return (move & 0xFFFFFFL)
+                | ((long) (score + SCORE_OFFSET) << 24)
+                | ((long) Math.min(Math.max(depth, 0), 0xFF) << 44)
+                | ((long) bound << 52)
+                | ((long) generation << 54);
+    }
+}
@@ -0,0 +1,35 @@
+package services.match;
+
+import lombok.Getter;
+
+/**
+ * When a game is decided without being played out. A game is won once the
+ * reported scores have favoured the same side by at least the resign score for a
+ * number of consecutive plies, so both engines have to agree. It is drawn once
+ * the scores have stayed within the draw score for a number of consecutive plies
+ * after a given ply, and in any case at the move limit.
+ */
+@Getter
+public class Adjudication {
+    private final int resignScore;
+    private final int resignPlies;
+    private final int drawScore;
+    private final int drawPlies;
+    private final int drawStartPly;
+    private final int maxPlies;
+
+    public Adjudication(int resignScore, int resignPlies, int drawScore, int drawPlies, int drawStartPly,
+                        int maxPlies) {
+        this.resignScore = resignScore;
+        this.resignPlies = resignPlies;
+        this.drawScore = drawScore;
+        this.drawPlies = drawPlies;
+        this.drawStartPly = drawStartPly;
+        this.maxPlies = maxPlies;
+    }
+
+    // Ten pawns for three moves each, a dead-level score for six moves each after move 40, or 200 moves
+    public static Adjudication defaults() {
+        return new Adjudication(1000, 6, 10, 12, 80, 400);
+    }
+}
@@ -0,0 +1,25 @@
+package services.match;
+
+import lombok.Getter;
+
+/**
+ * How one game ended, from the point of view of the board: the result, why the
+ * game ended and how many plies were played after the opening.
+ */
+@Getter
+public class GameOutcome {
+    private final GameResult result;
+    private final Termination termination;
+    private final int plies;
+
+    public GameOutcome(GameResult result, Termination termination, int plies) {
+        this.result = result;
+        this.termination = termination;
+        this.plies = plies;
+    }
+
+    @Override
+    public String toString() {
+        return result + " by " + termination + " after " + plies + " plies";
+    }
+}
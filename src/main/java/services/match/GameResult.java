@@ -0,0 +1,7 @@
+package services.match;
+
+public enum GameResult {
+    WHITE_WINS,
+    BLACK_WINS,
+    DRAW
+}
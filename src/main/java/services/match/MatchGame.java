@@ -0,0 +1,173 @@
+package services.match;
+
+import model.board.BitboardBoard;
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+import services.board.BoardService;
+import services.board.BoardServiceImpl;
+import services.board.SquareInterface;
+import services.engine.SearchEngine;
+import services.engine.SearchResult;
+import services.strategy.common.PieceInterface;
+import services.utils.Clock;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * One engine game on a board service of its own, with a clock for each side.
+ * The opening moves are played first, then the engines move in turn until the
+ * game ends on the board (including draws by repetition and the fifty-move
+ * rule), on time, or by adjudication. Each engine is charged the wall time its
+ * search took; the clocks count whole seconds, so the fractions are carried over.
+ */
+public class MatchGame {
+    private final SearchEngine white;
+    private final SearchEngine black;
+    private final String[] openingMoves;
+    private final int clockSeconds;
+    private final Adjudication adjudication;
+
+    private final BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+    private final MoveBuffer legalMoves = new MoveBuffer();
+    private final Clock[] clocks = new Clock[2];
+    private final long[] carriedMillis = new long[2];
+
+    private int decisiveStreak;
+    private int decisiveSign;
+    private int drawStreak;
+
+    // Opening moves in coordinate notation separated by spaces, such as "e2e4 e7e5"
+    public MatchGame(SearchEngine white, SearchEngine black, String opening, int clockSeconds,
+                     Adjudication adjudication) {
+        this.white = white;
+        this.black = black;
+        this.openingMoves = opening.isBlank() ? new String[0] : opening.trim().split("\\s+");
+        this.clockSeconds = clockSeconds;
+        this.adjudication = adjudication;
+    }
+
+    public GameOutcome play() {
+        playOpening();
+        clocks[WHITE] = newClock(clockSeconds);
+        clocks[BLACK] = newClock(clockSeconds);
+
+        for (int ply = 0; ; ply++) {
+            BitboardPosition position = boardService.getBitboardPosition().orElseThrow();
+            int side = boardService.isWhiteTurn() ? WHITE : BLACK;
+
+            legalMoves.clear();
+            LegalMoveGenerator.generateLegalMoves(position, side, legalMoves);
+            if (legalMoves.isEmpty()) {
+                return BitboardMoveGenerator.isInCheck(position, side)
+                        ? new GameOutcome(winner(opponent(side)), Termination.CHECKMATE, ply)
+                        : new GameOutcome(GameResult.DRAW, Termination.STALEMATE, ply);
+            }
+            if (position.getOccupancy() == (position.getPieces(WHITE, KING) | position.getPieces(BLACK, KING))) {
+                return new GameOutcome(GameResult.DRAW, Termination.INSUFFICIENT_MATERIAL, ply);
+            }
+            if (boardService.getPositionHistory().isThreefoldRepetition()) {
+                return new GameOutcome(GameResult.DRAW, Termination.REPETITION, ply);
+            }
+            if (boardService.getPositionHistory().isFiftyMoveDraw()) {
+                return new GameOutcome(GameResult.DRAW, Termination.FIFTY_MOVE_RULE, ply);
+            }
+            if (ply >= adjudication.getMaxPlies()) {
+                return new GameOutcome(GameResult.DRAW, Termination.MOVE_LIMIT, ply);
+            }
+
+            long start = System.nanoTime();
+            SearchResult result = (side == WHITE ? white : black).search(boardService, clocks[side]);
+            charge(side, (System.nanoTime() - start) / 1_000_000L);
+            if (clocks[side].isTimeUp()) {
+                return new GameOutcome(winner(opponent(side)), Termination.TIME_FORFEIT, ply + 1);
+            }
+            if (!result.hasMove() || !legalMoves.contains(result.getBestMove())) {
+                throw new IllegalStateException("Engine returned no legal move in a position with legal moves");
+            }
+
+            play(result.getBestMove());
+
+            GameOutcome adjudicated = adjudicate(side == WHITE ? result.getScore() : -result.getScore(), ply + 1);
+            if (adjudicated != null) {
+                return adjudicated;
+            }
+        }
+    }
+
+    BoardService getBoardService() {
+        return boardService;
+    }
+
+    private void playOpening() {
+        for (String notation : openingMoves) {
+            int side = boardService.isWhiteTurn() ? WHITE : BLACK;
+            legalMoves.clear();
+            LegalMoveGenerator.generateLegalMoves(boardService.getBitboardPosition().orElseThrow(), side, legalMoves);
+
+            int move = Moves.NONE;
+            for (int i = 0; i < legalMoves.size(); i++) {
+                if (Moves.toNotation(legalMoves.get(i)).equals(notation)) {
+                    move = legalMoves.get(i);
+                }
+            }
+            if (move == Moves.NONE) {
+                throw new IllegalArgumentException("Illegal opening move " + notation);
+            }
+            play(move);
+        }
+    }
+
+    private void play(int move) {
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        int from = Moves.from(move);
+        int to = Moves.to(move);
+        PieceInterface piece = squares[squareY(from)][squareX(from)].getOccupyingPiece();
+
+        boardService.makeMove(piece, squares[squareY(to)][squareX(to)]);
+        boardService.setWhiteTurn(!boardService.isWhiteTurn());
+    }
+
+    private void charge(int side, long millis) {
+        carriedMillis[side] += millis;
+        while (carriedMillis[side] >= 1000 && !clocks[side].isTimeUp()) {
+            clocks[side].decrementTime();
+            carriedMillis[side] -= 1000;
+        }
+    }
+
+    // Score from white's point of view, as reported for the move just played
+    private GameOutcome adjudicate(int whiteScore, int plies) {
+        int sign = Integer.signum(whiteScore);
+        if (Math.abs(whiteScore) < adjudication.getResignScore()) {
+            decisiveStreak = 0;
+        } else if (sign == decisiveSign) {
+            decisiveStreak++;
+        } else {
+            decisiveStreak = 1;
+            decisiveSign = sign;
+        }
+        if (decisiveStreak >= adjudication.getResignPlies()) {
+            return new GameOutcome(decisiveSign > 0 ? GameResult.WHITE_WINS : GameResult.BLACK_WINS,
+                    Termination.ADJUDICATED_WIN, plies);
+        }
+
+        drawStreak = plies > adjudication.getDrawStartPly() && Math.abs(whiteScore) <= adjudication.getDrawScore()
+                ? drawStreak + 1
+                : 0;
+        if (drawStreak >= adjudication.getDrawPlies()) {
+            return new GameOutcome(GameResult.DRAW, Termination.ADJUDICATED_DRAW, plies);
+        }
+        return null;
+    }
+
+    private static GameResult winner(int colorIndex) {
+        return colorIndex == WHITE ? GameResult.WHITE_WINS : GameResult.BLACK_WINS;
+    }
+
+    private static Clock newClock(int seconds) {
+        return new Clock(seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+}
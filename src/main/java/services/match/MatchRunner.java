@@ -0,0 +1,126 @@
+package services.match;
+
+import services.engine.SearchEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Plays a candidate engine against a baseline, many games at a time. Every game
+ * gets fresh engines from the suppliers, its own board service and its own
+ * clocks, so games share nothing but the statistics. Each opening is played
+ * twice with the colors swapped, which cancels out most of its bias.
+ * <p>
+ * After every game the {@link Sprt} is asked whether the results already decide
+ * between its hypotheses; once they do no further games are started, and the
+ * games still in progress are finished and counted.
+ */
+public class MatchRunner {
+    private final Supplier<SearchEngine> candidate;
+    private final Supplier<SearchEngine> baseline;
+    private final List<String> openings;
+    private final int clockSeconds;
+    private final Adjudication adjudication;
+    private final Sprt sprt;
+    private final int threads;
+
+    private final MatchStatistics statistics = new MatchStatistics();
+
+    public MatchRunner(Supplier<SearchEngine> candidate, Supplier<SearchEngine> baseline, List<String> openings,
+                       int clockSeconds, Adjudication adjudication, Sprt sprt, int threads) {
+        if (openings.isEmpty()) {
+            throw new IllegalArgumentException("At least one opening is needed");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed, got " + threads);
+        }
+
+        this.candidate = candidate;
+        this.baseline = baseline;
+        this.openings = List.copyOf(openings);
+        this.clockSeconds = clockSeconds;
+        this.adjudication = adjudication;
+        this.sprt = sprt;
+        this.threads = threads;
+    }
+
+    public Sprt.Decision run(int maxGames) {
+        return run(maxGames, statistics -> {
+        });
+    }
+
+    // Plays until the test decides or maxGames have been played; the listener hears about every finished game
+    public Sprt.Decision run(int maxGames, Consumer<MatchStatistics> afterEachGame) {
+        AtomicInteger nextGame = new AtomicInteger();
+        AtomicBoolean decided = new AtomicBoolean();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "match-game");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(pool.submit(() -> {
+                    int game;
+                    while (!decided.get() && (game = nextGame.getAndIncrement()) < maxGames) {
+                        playGame(game);
+                        afterEachGame.accept(statistics);
+                        if (getDecision() != Sprt.Decision.CONTINUE) {
+                            decided.set(true);
+                        }
+                    }
+                }));
+            }
+            awaitWorkers(workers);
+        } finally {
+            pool.shutdownNow();
+        }
+        return getDecision();
+    }
+
+    public MatchStatistics getStatistics() {
+        return statistics;
+    }
+
+    public Sprt.Decision getDecision() {
+        return sprt.decide(statistics.getWins(), statistics.getDraws(), statistics.getLosses());
+    }
+
+    public double getLogLikelihoodRatio() {
+        return sprt.logLikelihoodRatio(statistics.getWins(), statistics.getDraws(), statistics.getLosses());
+    }
+
+    private void playGame(int game) {
+        boolean candidateWhite = game % 2 == 0;
+        String opening = openings.get(game / 2 % openings.size());
+        try (SearchEngine candidateEngine = candidate.get(); SearchEngine baselineEngine = baseline.get()) {
+            MatchGame matchGame = candidateWhite
+                    ? new MatchGame(candidateEngine, baselineEngine, opening, clockSeconds, adjudication)
+                    : new MatchGame(baselineEngine, candidateEngine, opening, clockSeconds, adjudication);
+            statistics.record(matchGame.play(), candidateWhite);
+        }
+    }
+
+    private static void awaitWorkers(List<Future<?>> workers) {
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Match game failed", e.getCause());
+            }
+        }
+    }
+}
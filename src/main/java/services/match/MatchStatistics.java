@@ -0,0 +1,88 @@
+package services.match;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Running totals of a match from the candidate's point of view, with the Elo
+ * difference they imply and its 95% error margin. Games finish on several
+ * threads, so every method is synchronized.
+ */
+public class MatchStatistics {
+    private static final double Z_95 = 1.959964;
+
+    private long wins;
+    private long draws;
+    private long losses;
+    private final Map<Termination, Long> terminations = new EnumMap<>(Termination.class);
+
+    public synchronized void record(GameOutcome outcome, boolean candidateWhite) {
+        GameResult result = outcome.getResult();
+        if (result == GameResult.DRAW) {
+            draws++;
+        } else if ((result == GameResult.WHITE_WINS) == candidateWhite) {
+            wins++;
+        } else {
+            losses++;
+        }
+        terminations.merge(outcome.getTermination(), 1L, Long::sum);
+    }
+
+    public synchronized long getWins() {
+        return wins;
+    }
+
+    public synchronized long getDraws() {
+        return draws;
+    }
+
+    public synchronized long getLosses() {
+        return losses;
+    }
+
+    public synchronized long getGames() {
+        return wins + draws + losses;
+    }
+
+    public synchronized Map<Termination, Long> getTerminations() {
+        return new EnumMap<>(terminations);
+    }
+
+    public synchronized double getScore() {
+        long games = wins + draws + losses;
+        return games == 0 ? 0.5 : (wins + draws / 2.0) / games;
+    }
+
+    public synchronized double getElo() {
+        return elo(getScore());
+    }
+
+    // Half the width of the 95% confidence interval of the Elo difference
+    public synchronized double getEloMargin() {
+        long games = wins + draws + losses;
+        if (games == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double score = getScore();
+        double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2)
+                + losses * Math.pow(score, 2)) / games;
+        double margin = Z_95 * Math.sqrt(variance / games);
+        return (elo(Math.min(score + margin, 1)) - elo(Math.max(score - margin, 0))) / 2;
+    }
+
+    // Infinite when one side scored everything
+    public static double elo(double score) {
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    public static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d games +%d =%d -%d, Elo %+.1f +/- %.1f",
+                getGames(), wins, draws, losses, getElo(), getEloMargin());
+    }
+}
@@ -0,0 +1,66 @@
+package services.match;
+
+import lombok.Getter;
+
+/**
+ * Sequential probability ratio test between two Elo hypotheses: H0 says the
+ * candidate is elo0 stronger than the baseline, H1 says elo1. After every game
+ * the log-likelihood ratio of the results so far is compared with bounds set by
+ * the accepted error rates, and the match stops as soon as it crosses one.
+ * <p>
+ * The ratio uses the usual normal approximation for trinomial results
+ * (win, draw, loss) under the logistic Elo model. Half a game of each outcome is
+ * added to the counts, so a one-sided match still has a variance.
+ */
+@Getter
+public class Sprt {
+    public enum Decision {
+        ACCEPT_H0,
+        ACCEPT_H1,
+        CONTINUE
+    }
+
+    private final double elo0;
+    private final double elo1;
+    private final double lowerBound;
+    private final double upperBound;
+
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    public double logLikelihoodRatio(long wins, long draws, long losses) {
+        if (wins + draws + losses == 0) {
+            return 0.0;
+        }
+
+        double w = wins + 0.5;
+        double d = draws + 0.5;
+        double l = losses + 0.5;
+        double games = w + d + l;
+        double score = (w + d / 2) / games;
+        double variance = (w * square(1 - score) + d * square(0.5 - score) + l * square(score)) / games;
+
+        double score0 = MatchStatistics.expectedScore(elo0);
+        double score1 = MatchStatistics.expectedScore(elo1);
+        return games * (score1 - score0) * (2 * score - score0 - score1) / (2 * variance);
+    }
+
+    public Decision decide(long wins, long draws, long losses) {
+        double ratio = logLikelihoodRatio(wins, draws, losses);
+        if (ratio >= upperBound) {
+            return Decision.ACCEPT_H1;
+        }
+        if (ratio <= lowerBound) {
+            return Decision.ACCEPT_H0;
+        }
+        return Decision.CONTINUE;
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+}
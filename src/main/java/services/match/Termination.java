@@ -0,0 +1,13 @@
+package services.match;
+
+public enum Termination {
+    CHECKMATE,
+    STALEMATE,
+    TIME_FORFEIT,
+    INSUFFICIENT_MATERIAL,
+    REPETITION,
+    FIFTY_MOVE_RULE,
+    MOVE_LIMIT,
+    ADJUDICATED_WIN,
+    ADJUDICATED_DRAW
+}
@@ -1,5 +1,6 @@
 package services.strategy;
 
+import services.bitboard.MagicBitboards;
 import services.board.SquareInterface;
 import services.strategy.common.PieceInterface;
 import services.strategy.common.PieceStrategy;
@@ -7,8 +8,9 @@ import services.utils.MovementUtil;
 
 import java.util.List;
 
-public class BishopStrategy extends PieceStrategy {
+import static services.bitboard.Bitboards.squareIndex;
 
+public class BishopStrategy extends PieceStrategy {
 
     public BishopStrategy(PieceInterface piece) {
         super(piece);
@@ -16,7 +18,11 @@ public class BishopStrategy extends PieceStrategy {
 
     @Override
     public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
+        SquareInterface currentSquare = getPiece().getCurrentSquare();
+        int square = squareIndex(currentSquare.getXNum(), currentSquare.getYNum());
+
+        long occupancy = MovementUtil.getOccupancy(squareArrayBoard, MagicBitboards.bishopMask(square));
 
-        return MovementUtil.getDiagonalMoves(squareArrayBoard, super.getPiece());
+        return MovementUtil.getMovesFromMask(squareArrayBoard, getPiece(), MagicBitboards.bishopAttacks(square, occupancy));
     }
 }
@@ -1,14 +1,15 @@
 package services.strategy;
 
+import services.bitboard.AttackTables;
 import services.board.SquareInterface;
 import services.strategy.common.PieceInterface;
 import services.strategy.common.PieceStrategy;
 import services.utils.MovementUtil;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
+import static services.bitboard.Bitboards.squareIndex;
+
 public class KnightStrategy extends PieceStrategy {
 
     public KnightStrategy(PieceInterface piece) {
@@ -17,33 +18,10 @@ public class KnightStrategy extends PieceStrategy {
 
     @Override
     public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
-        List<SquareInterface> legalMoves = new ArrayList<>();
         SquareInterface currentSquare = getPiece().getCurrentSquare();
 
-        int x = currentSquare.getXNum();
-        int y = currentSquare.getYNum();
-
-        int[][] directions = {
-                {2, 1}, {1, 2}, {-1, 2},
-                {-2, 1}, {-2, -1}, {-1, -2},
-                {1, -2}, {2, -1}
-        };
-
-        Arrays.stream(directions).forEach(direction -> {
-            int newX = x + direction[0];
-            int newY = y + direction[1];
-
-            if (MovementUtil.isInBound(newX, newY)) {
-                SquareInterface targetSquare = squareArrayBoard[newY][newX];
-
-                if (!targetSquare.isOccupied()
-                        || targetSquare.getOccupyingPiece().getPieceColor() != getPiece().getPieceColor()) {
-                    legalMoves.add(targetSquare);
-                }
-            }
-
-        });
+        long attacks = AttackTables.knightAttacks(squareIndex(currentSquare.getXNum(), currentSquare.getYNum()));
 
-        return legalMoves;
+        return MovementUtil.getMovesFromMask(squareArrayBoard, getPiece(), attacks);
     }
 }
@@ -43,7 +43,8 @@ public class PawnStrategy extends PieceStrategy {
     private void addStraightMove(List<SquareInterface> legalMoves, SquareInterface[][] board, int x, int y, int direction) {
         // First move (can move two steps if not yet moved)
         PieceInterface pawn = getPiece();
-        if (!(pawn.isWasMoved()) && isInBound(y + 2 * direction, x) && !board[y + 2 * direction][x].isOccupied()) {
+        if (!(pawn.isWasMoved()) && isInBound(y + 2 * direction, x)
+                && !board[y + direction][x].isOccupied() && !board[y + 2 * direction][x].isOccupied()) {
             legalMoves.add(board[y + 2 * direction][x]);
         }
         // Regular move (one step forward)
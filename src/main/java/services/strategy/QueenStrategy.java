@@ -1,13 +1,15 @@
 package services.strategy;
 
+import services.bitboard.MagicBitboards;
 import services.board.SquareInterface;
 import services.strategy.common.PieceInterface;
 import services.strategy.common.PieceStrategy;
 import services.utils.MovementUtil;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import static services.bitboard.Bitboards.squareIndex;
+
 public class QueenStrategy extends PieceStrategy {
 
     public QueenStrategy(PieceInterface piece) {
@@ -16,12 +18,13 @@ public class QueenStrategy extends PieceStrategy {
 
     @Override
     public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
+        SquareInterface currentSquare = getPiece().getCurrentSquare();
+        int square = squareIndex(currentSquare.getXNum(), currentSquare.getYNum());
 
-        List<SquareInterface> legalMoves = new ArrayList<>(MovementUtil.getLinearMoves(squareArrayBoard, this.getPiece()));
-
-        legalMoves.addAll(MovementUtil.getDiagonalMoves(squareArrayBoard, super.getPiece()));
+        long relevantSquares = MagicBitboards.rookMask(square) | MagicBitboards.bishopMask(square);
+        long occupancy = MovementUtil.getOccupancy(squareArrayBoard, relevantSquares);
 
-        return legalMoves;
+        return MovementUtil.getMovesFromMask(squareArrayBoard, getPiece(), MagicBitboards.queenAttacks(square, occupancy));
     }
 
 }
@@ -1,5 +1,6 @@
 package services.strategy;
 
+import services.bitboard.MagicBitboards;
 import services.board.SquareInterface;
 import services.strategy.common.PieceInterface;
 import services.strategy.common.PieceStrategy;
@@ -7,14 +8,21 @@ import services.utils.MovementUtil;
 
 import java.util.List;
 
+import static services.bitboard.Bitboards.squareIndex;
+
 public class RookStrategy extends PieceStrategy {
+
     public RookStrategy(PieceInterface piece) {
         super(piece);
     }
 
     @Override
     public List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard) {
+        SquareInterface currentSquare = getPiece().getCurrentSquare();
+        int square = squareIndex(currentSquare.getXNum(), currentSquare.getYNum());
+
+        long occupancy = MovementUtil.getOccupancy(squareArrayBoard, MagicBitboards.rookMask(square));
 
-        return MovementUtil.getLinearMoves(squareArrayBoard, this.getPiece());
+        return MovementUtil.getMovesFromMask(squareArrayBoard, getPiece(), MagicBitboards.rookAttacks(square, occupancy));
     }
 }
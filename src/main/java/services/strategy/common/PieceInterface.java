@@ -1,17 +1,30 @@
 package services.strategy.common;
 
+import services.bitboard.BitboardPosition;
+import services.bitboard.MoveBuffer;
 import services.board.BoardService;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
+import services.enums.PieceType;
 
 import java.awt.*;
 import java.util.List;
 
+/**
+ * A piece on the board. Both move queries are pseudo-legal for every piece type,
+ * the king included: they follow how the piece moves and never land on a friendly
+ * piece, but may leave the mover's own king in check. Filtering for king safety is
+ * left to {@link services.bitboard.LegalMoveGenerator} and the game controller.
+ */
 public interface PieceInterface {
     List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard);
 
+    void generateMoves(BitboardPosition position, MoveBuffer buffer);
+
     PieceColor getPieceColor();
 
+    PieceType getPieceType();
+
     SquareInterface getCurrentSquare();
 
     void setCurrentSquare(SquareInterface currentSquare);
@@ -20,6 +33,8 @@ public interface PieceInterface {
 
     boolean isWasMoved();
 
+    void setWasMoved(boolean wasMoved);
+
     Image getImage();
 
 }
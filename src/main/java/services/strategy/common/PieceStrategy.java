@@ -1,10 +1,15 @@
 package services.strategy.common;
 
 import lombok.Getter;
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.MoveBuffer;
 import services.board.SquareInterface;
 
 import java.util.List;
 
+import static services.bitboard.Bitboards.squareIndex;
+
 @Getter
 public abstract class PieceStrategy {
     private final PieceInterface piece;
@@ -15,4 +20,11 @@ public abstract class PieceStrategy {
 
 
     public abstract List<SquareInterface> getLegalMoves(SquareInterface[][] squareArrayBoard);
+
+    // Appends the piece's moves as encoded ints; allocates nothing
+    public void generateMoves(BitboardPosition position, MoveBuffer buffer) {
+        SquareInterface currentSquare = piece.getCurrentSquare();
+        BitboardMoveGenerator.generatePieceMoves(position,
+                squareIndex(currentSquare.getXNum(), currentSquare.getYNum()), buffer);
+    }
 }
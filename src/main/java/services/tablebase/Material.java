@@ -0,0 +1,196 @@
+package services.tablebase;
+
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+
+import java.util.Arrays;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * The pieces of an ending, such as {@code KQvK} or {@code KRvKP}: white's
+ * pieces, a {@code v}, then black's, each side with exactly one king. The pieces
+ * are kept in slots, the two kings first, and a position of the ending has the
+ * index
+ * <pre>
+ *     ((sideToMove * 64 + square of slot 0) * 64 + square of slot 1) * 64 + ...
+ * </pre>
+ * so every placement of the pieces has its own index, legal or not. Two equal
+ * pieces appear in both orders, and lookups use the one with their squares
+ * in ascending order.
+ */
+public final class Material {
+    private static final String PIECE_LETTERS = "PNBRQK";
+
+    private final int[] slots;
+    private final String name;
+    private final long key;
+
+    private Material(int[] slots) {
+        this.slots = slots;
+        this.name = nameOf(slots);
+        this.key = keyOf(slots);
+    }
+
+    public static Material parse(String name) {
+        int separator = name.indexOf('v');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected white pieces, 'v', black pieces: " + name);
+        }
+
+        String white = name.substring(0, separator);
+        String black = name.substring(separator + 1);
+        if (white.chars().filter(c -> c == 'K').count() != 1 || black.chars().filter(c -> c == 'K').count() != 1) {
+            throw new IllegalArgumentException("Each side needs exactly one king: " + name);
+        }
+
+        int[] slots = new int[white.length() + black.length()];
+        slots[0] = pieceCode(WHITE, KING);
+        slots[1] = pieceCode(BLACK, KING);
+        int slot = 2;
+        for (int colorIndex = WHITE; colorIndex <= BLACK; colorIndex++) {
+            for (char letter : (colorIndex == WHITE ? white : black).toCharArray()) {
+                int typeIndex = PIECE_LETTERS.indexOf(letter);
+                if (typeIndex < 0) {
+                    throw new IllegalArgumentException("Unknown piece '" + letter + "' in " + name);
+                }
+                if (typeIndex != KING) {
+                    slots[slot++] = pieceCode(colorIndex, typeIndex);
+                }
+            }
+        }
+        return new Material(slots);
+    }
+
+    // Counts of every piece code in four bits each; equal for positions of the same ending
+    public static long keyOf(BitboardPosition position) {
+        long key = 0L;
+        for (int pieceCode = 0; pieceCode < 2 * PIECE_TYPES; pieceCode++) {
+            key += (long) Long.bitCount(position.getPieces(pieceCode)) << (4 * pieceCode);
+        }
+        return key;
+    }
+
+    // The key of the same ending with the colors swapped
+    public static long flipKey(long key) {
+        long whiteHalf = key & ((1L << (4 * PIECE_TYPES)) - 1);
+        return (key >>> (4 * PIECE_TYPES)) | (whiteHalf << (4 * PIECE_TYPES));
+    }
+
+    private static String nameOf(int[] slots) {
+        StringBuilder white = new StringBuilder();
+        StringBuilder black = new StringBuilder();
+        for (int pieceCode : slots) {
+            (codeColor(pieceCode) == WHITE ? white : black).append(PIECE_LETTERS.charAt(codeType(pieceCode)));
+        }
+        return white + "v" + black;
+    }
+
+    private static long keyOf(int[] slots) {
+        long key = 0L;
+        for (int pieceCode : slots) {
+            key += 1L << (4 * pieceCode);
+        }
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public int getPieceCount() {
+        return slots.length;
+    }
+
+    int getSlot(int slot) {
+        return slots[slot];
+    }
+
+    // Number of indices: both sides to move times every placement
+    public long size() {
+        return 2L << (6 * slots.length);
+    }
+
+    // The ending after the piece in the given slot is captured
+    Material without(int slot) {
+        int[] remaining = new int[slots.length - 1];
+        System.arraycopy(slots, 0, remaining, 0, slot);
+        System.arraycopy(slots, slot + 1, remaining, slot, slots.length - slot - 1);
+        return new Material(remaining);
+    }
+
+    static Material ofSlots(int[] slots) {
+        if (slots.length < 2 || slots[0] != pieceCode(WHITE, KING) || slots[1] != pieceCode(BLACK, KING)) {
+            throw new IllegalArgumentException("The two kings must come first: " + Arrays.toString(slots));
+        }
+        return new Material(slots.clone());
+    }
+
+    /**
+     * Index of a position of this ending; flipped reads it with colors swapped
+     * and the board mirrored. Equal pieces take their squares in ascending order,
+     * the order the generator stores, so a flipped read orders them by their
+     * mirrored squares, not by their real ones.
+     */
+    public long index(BitboardPosition position, int sideToMove, boolean flipped) {
+        long index = flipped ? opponent(sideToMove) : sideToMove;
+        long used = 0L;
+        for (int pieceCode : slots) {
+            // Reversing the bytes mirrors the ranks: square s moves to s ^ 56
+            long pieces = flipped
+                    ? Long.reverseBytes(position.getPieces(flipColor(pieceCode)))
+                    : position.getPieces(pieceCode);
+            int square = Long.numberOfTrailingZeros(pieces & ~used);
+            used |= squareBit(square);
+            index = (index << 6) | square;
+        }
+        return index;
+    }
+
+    /**
+     * Places the pieces of the index on the cleared position and returns the side
+     * to move, or -1 when the placement is not a legal position: two pieces on one
+     * square, a pawn on its own first rank, or the side that just moved in check.
+     */
+    int setUp(BitboardPosition position, long index) {
+        position.clear();
+        for (int slot = slots.length - 1; slot >= 0; slot--) {
+            int square = (int) (index & 63);
+            index >>>= 6;
+            if (position.isOccupied(square) || isOnOwnFirstRank(slots[slot], square)) {
+                return -1;
+            }
+            position.putPiece(square, slots[slot]);
+        }
+
+        int sideToMove = (int) index;
+        return BitboardMoveGenerator.isInCheck(position, opponent(sideToMove)) ? -1 : sideToMove;
+    }
+
+    private static boolean isOnOwnFirstRank(int pieceCode, int square) {
+        return codeType(pieceCode) == PAWN && squareY(square) == (codeColor(pieceCode) == WHITE ? 7 : 0);
+    }
+
+    private static int flipColor(int pieceCode) {
+        return pieceCode(opponent(codeColor(pieceCode)), codeType(pieceCode));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Material && Arrays.equals(slots, ((Material) other).slots);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(slots);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,164 @@
+package services.tablebase;
+
+import services.bitboard.BitboardPosition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped ending table. Every index of the {@link Material} holds a
+ * code of a fixed number of bits, packed into consecutive little-endian longs
+ * behind a 32-byte header, so a probe is an index computation and at most two
+ * reads.
+ * <p>
+ * A code is 0 for a draw (or a placement that cannot occur), otherwise the
+ * distance to mate in plies plus one. The parity tells the result: the side to
+ * move has been mated at distance 0 and wins at every odd distance.
+ * <p>
+ * Header, big-endian: magic {@code TBS1}, piece count, eight slot piece codes
+ * (unused ones -1), bits per entry, four reserved bytes and the entry count.
+ */
+public final class Tablebase {
+    public static final String FILE_EXTENSION = ".tb";
+
+    private static final int MAGIC = 0x54425331;
+    private static final int HEADER_BYTES = 32;
+    private static final int MAX_SLOTS = 8;
+
+    private final Material material;
+    private final ByteBuffer data;
+    private final int bitsPerEntry;
+    private final long entryMask;
+
+    private Tablebase(Material material, ByteBuffer data, int bitsPerEntry) {
+        this.material = material;
+        this.data = data;
+        this.bitsPerEntry = bitsPerEntry;
+        this.entryMask = (1L << bitsPerEntry) - 1;
+    }
+
+    public static Tablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a tablebase file: " + path);
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a tablebase file: " + path);
+            }
+
+            int pieceCount = buffer.getInt(4);
+            int[] slots = new int[pieceCount];
+            for (int slot = 0; slot < pieceCount; slot++) {
+                slots[slot] = buffer.get(8 + slot);
+            }
+            Material material = Material.ofSlots(slots);
+            int bitsPerEntry = buffer.getInt(16);
+            if (buffer.getLong(24) != material.size()
+                    || channel.size() < HEADER_BYTES + wordCount(material.size(), bitsPerEntry) * Long.BYTES) {
+                throw new IOException("Truncated tablebase file: " + path);
+            }
+
+            ByteBuffer data = buffer.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN);
+            return new Tablebase(material, data, bitsPerEntry);
+        }
+    }
+
+    // Packs the codes of a generated table with as few bits per entry as its longest distance needs
+    public static void write(Material material, byte[] codes, Path path) throws IOException {
+        int maxCode = 0;
+        for (byte code : codes) {
+            maxCode = Math.max(maxCode, code & 0xFF);
+        }
+        int bitsPerEntry = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxCode));
+
+        long[] words = new long[(int) wordCount(codes.length, bitsPerEntry)];
+        for (int index = 0; index < codes.length; index++) {
+            long bit = (long) index * bitsPerEntry;
+            long code = codes[index] & 0xFF;
+            int word = (int) (bit >>> 6);
+            int offset = (int) (bit & 63);
+            words[word] |= code << offset;
+            if (offset + bitsPerEntry > 64) {
+                words[word + 1] |= code >>> (64 - offset);
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(material.getPieceCount());
+        for (int slot = 0; slot < MAX_SLOTS; slot++) {
+            header.put((byte) (slot < material.getPieceCount() ? material.getSlot(slot) : -1));
+        }
+        header.putInt(bitsPerEntry).putInt(0).putLong(codes.length).flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(header);
+            ByteBuffer body = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for (long word : words) {
+                if (!body.hasRemaining()) {
+                    writeFully(channel, body);
+                }
+                body.putLong(word);
+            }
+            writeFully(channel, body);
+        }
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public int getBitsPerEntry() {
+        return bitsPerEntry;
+    }
+
+    public int probe(BitboardPosition position, int sideToMove, boolean flipped) {
+        return code(material.index(position, sideToMove, flipped));
+    }
+
+    public int code(long index) {
+        long bit = index * bitsPerEntry;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = data.getLong(word * Long.BYTES) >>> offset;
+        if (offset + bitsPerEntry > 64) {
+            value |= data.getLong((word + 1) * Long.BYTES) << (64 - offset);
+        }
+        return (int) (value & entryMask);
+    }
+
+    public static boolean isDraw(int code) {
+        return code == 0;
+    }
+
+    public static boolean isWin(int code) {
+        return code != 0 && (code & 1) == 0;
+    }
+
+    public static boolean isLoss(int code) {
+        return code != 0 && (code & 1) == 1;
+    }
+
+    // Plies to mate for the winning side; only meaningful when the code is not a draw
+    public static int plies(int code) {
+        return code - 1;
+    }
+
+    private static long wordCount(long entries, int bitsPerEntry) {
+        return (entries * bitsPerEntry + 63) >>> 6;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
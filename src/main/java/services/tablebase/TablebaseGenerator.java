@@ -0,0 +1,333 @@
+package services.tablebase;
+
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static services.bitboard.Bitboards.*;
+
+/**
+ * Builds distance-to-mate tables by retrograde analysis, one distance at a time.
+ * Distance 0 holds the checkmates. A position is won in d plies when one of its
+ * moves leads to a position lost in d - 1, and lost in d plies when every move
+ * leads to a position won in at most d - 1. Whatever is left once a distance
+ * adds nothing new (and no capture can still contribute) is a draw.
+ * <p>
+ * A position can only be resolved at distance d if one of its moves reaches a
+ * position resolved at d - 1, or if it has a capture into a smaller ending.
+ * So every level un-moves the pieces of the positions it resolves to mark their
+ * predecessors, and the next level only checks the marked positions (and, while
+ * captures can still matter, the positions with a capture). Checking a position
+ * plays its legal moves with the project's move generator and looks the results
+ * up. A level only assigns codes of one parity and only reads codes of the
+ * other, so the index range is split among worker threads without any locking.
+ * <p>
+ * A capture leaves a smaller ending, so the tables of every ending reachable by
+ * captures are generated first and kept for reuse. Pawns never promote in this
+ * game; a pawn that reaches the last rank stays there.
+ */
+public class TablebaseGenerator {
+    public static final int MAX_PIECES = 4;
+
+    // Generation markers; finished tables hold 0 for both
+    private static final byte UNRESOLVED = 0;
+    private static final byte ILLEGAL = (byte) 0xFF;
+    private static final byte STALEMATE = (byte) 0xFE;
+    private static final int MAX_CODE = 0xFD;
+
+    private static final int CHUNKS_PER_THREAD = 16;
+
+    private final int threads;
+    private final ExecutorService pool;
+    private final Map<Material, byte[]> tables = new HashMap<>();
+
+    public TablebaseGenerator(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed, got " + threads);
+        }
+        this.threads = threads;
+        this.pool = threads > 1
+                ? Executors.newFixedThreadPool(threads, runnable -> {
+                    Thread thread = new Thread(runnable, "tablebase-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * Codes of every index of the ending in the format of {@link Tablebase}:
+     * 0 for draws and impossible placements, otherwise the distance to mate in
+     * plies plus one.
+     */
+    public byte[] generate(Material material) {
+        if (material.getPieceCount() > MAX_PIECES) {
+            throw new IllegalArgumentException("At most " + MAX_PIECES + " pieces, got " + material);
+        }
+
+        byte[] codes = tables.get(material);
+        if (codes != null) {
+            return codes;
+        }
+
+        byte[][] afterCapture = new byte[2 * PIECE_TYPES][];
+        Material[] capturedMaterial = new Material[2 * PIECE_TYPES];
+        int longestCapture = 0;
+        for (int slot = 2; slot < material.getPieceCount(); slot++) {
+            int pieceCode = material.getSlot(slot);
+            if (afterCapture[pieceCode] == null) {
+                capturedMaterial[pieceCode] = material.without(slot);
+                afterCapture[pieceCode] = generate(capturedMaterial[pieceCode]);
+                longestCapture = Math.max(longestCapture, longestDistance(afterCapture[pieceCode]));
+            }
+        }
+
+        codes = new byte[(int) material.size()];
+        Level level = new Level(material, codes, afterCapture, capturedMaterial, longestCapture + 1);
+        for (int plies = 0; ; plies++) {
+            if (plies > MAX_CODE - 1) {
+                throw new IllegalStateException("Distance to mate in " + material + " exceeds " + (MAX_CODE - 1));
+            }
+            int resolved = runLevel(level, plies);
+            if (resolved == 0 && plies > level.captureHorizon) {
+                break;
+            }
+            level.nextLevel();
+        }
+
+        for (int index = 0; index < codes.length; index++) {
+            if (codes[index] == ILLEGAL || codes[index] == STALEMATE) {
+                codes[index] = UNRESOLVED;
+            }
+        }
+        tables.put(material, codes);
+        return codes;
+    }
+
+    // Generates the ending and every ending it can capture down to, writing one file per ending
+    public List<Path> generateFiles(Material material, Path directory) throws IOException {
+        generate(material);
+
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<Material, byte[]> table : tables.entrySet()) {
+            Path file = directory.resolve(table.getKey().getName() + Tablebase.FILE_EXTENSION);
+            Tablebase.write(table.getKey(), table.getValue(), file);
+            files.add(file);
+        }
+        return files;
+    }
+
+    private int runLevel(Level level, int plies) {
+        int chunkCount = threads * CHUNKS_PER_THREAD;
+        int chunkSize = (level.codes.length + chunkCount - 1) / chunkCount;
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int start = 0; start < level.codes.length; start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, level.codes.length);
+            tasks.add(() -> level.sweep(from, to, plies));
+        }
+
+        if (pool == null) {
+            int resolved = 0;
+            for (Callable<Integer> task : tasks) {
+                resolved += call(task);
+            }
+            return resolved;
+        }
+
+        try {
+            int resolved = 0;
+            for (Future<Integer> future : pool.invokeAll(tasks)) {
+                resolved += future.get();
+            }
+            return resolved;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tablebase generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tablebase generation failed", e.getCause());
+        }
+    }
+
+    private static int call(Callable<Integer> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw new IllegalStateException("Tablebase generation failed", e);
+        }
+    }
+
+    private static int longestDistance(byte[] codes) {
+        int longest = 0;
+        for (byte code : codes) {
+            longest = Math.max(longest, code & 0xFF);
+        }
+        return longest == 0 ? 0 : Tablebase.plies(longest);
+    }
+
+    // The tables the sweeps of one ending read and write; each sweep has its own scratch position and move buffer
+    private static final class Level {
+        private final Material material;
+        private final byte[] codes;
+        private final byte[][] afterCapture;
+        private final Material[] capturedMaterial;
+        // Up to this distance a capture into a smaller ending can still resolve a position
+        private final int captureHorizon;
+        private final byte[] hasCapture;
+        private byte[] candidates;
+        private byte[] nextCandidates;
+
+        Level(Material material, byte[] codes, byte[][] afterCapture, Material[] capturedMaterial,
+              int captureHorizon) {
+            this.material = material;
+            this.codes = codes;
+            this.afterCapture = afterCapture;
+            this.capturedMaterial = capturedMaterial;
+            this.captureHorizon = captureHorizon;
+            this.hasCapture = new byte[codes.length];
+            this.candidates = new byte[codes.length];
+            this.nextCandidates = new byte[codes.length];
+        }
+
+        // The sweeps clear the candidates they read, so the array can collect the level after next
+        void nextLevel() {
+            byte[] swap = candidates;
+            candidates = nextCandidates;
+            nextCandidates = swap;
+        }
+
+        int sweep(int from, int to, int plies) {
+            BitboardPosition position = new BitboardPosition();
+            MoveBuffer moves = new MoveBuffer();
+            int resolved = 0;
+
+            for (int index = from; index < to; index++) {
+                boolean candidate = candidates[index] != 0
+                        || (plies <= captureHorizon && hasCapture[index] != 0);
+                candidates[index] = 0;
+                if (codes[index] != UNRESOLVED || (plies > 0 && !candidate)) {
+                    continue;
+                }
+
+                int sideToMove = material.setUp(position, index);
+                if (sideToMove < 0) {
+                    codes[index] = ILLEGAL;
+                    continue;
+                }
+
+                moves.clear();
+                LegalMoveGenerator.generateLegalMoves(position, sideToMove, moves);
+                if (plies == 0) {
+                    hasCapture[index] = (byte) (hasCaptureMove(moves) ? 1 : 0);
+                    if (!moves.isEmpty()) {
+                        continue;
+                    }
+                    if (!BitboardMoveGenerator.isInCheck(position, sideToMove)) {
+                        codes[index] = STALEMATE;
+                        continue;
+                    }
+                } else if (!isResolvedAt(position, sideToMove, moves, plies)) {
+                    continue;
+                }
+
+                codes[index] = (byte) (plies + 1);
+                markPredecessors(position, opponent(sideToMove));
+                resolved++;
+            }
+            return resolved;
+        }
+
+        // Odd plies: some move reaches a loss in plies - 1. Even plies: every move reaches a win in fewer
+        private boolean isResolvedAt(BitboardPosition position, int sideToMove, MoveBuffer moves, int plies) {
+            boolean winning = (plies & 1) == 1;
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                position.makeMove(move);
+                int childCode = childCode(position, opponent(sideToMove), move);
+                position.unmakeMove(move);
+
+                if (winning && childCode == plies) {
+                    return true;
+                }
+                if (!winning && !(Tablebase.isWin(childCode) && childCode <= plies)) {
+                    return false;
+                }
+            }
+            return !winning;
+        }
+
+        private int childCode(BitboardPosition position, int sideToMove, int move) {
+            if (Moves.isCapture(move)) {
+                int captured = Moves.captured(move);
+                return afterCapture[captured][(int) capturedMaterial[captured].index(position, sideToMove, false)]
+                        & 0xFF;
+            }
+
+            int code = codes[(int) material.index(position, sideToMove, false)] & 0xFF;
+            return code > MAX_CODE ? 0 : code;
+        }
+
+        // Marks the unresolved positions from which the side that just moved could have reached this one
+        private void markPredecessors(BitboardPosition position, int movedSide) {
+            long occupancy = position.getOccupancy();
+            long pieces = position.getColorOccupancy(movedSide);
+            while (pieces != 0) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                int pieceCode = position.getPieceAt(square);
+
+                long origins = codeType(pieceCode) == PAWN
+                        ? pawnOrigins(square, movedSide, occupancy)
+                        : BitboardMoveGenerator.attacks(pieceCode, square, occupancy) & ~occupancy;
+                while (origins != 0) {
+                    int origin = Long.numberOfTrailingZeros(origins);
+                    origins &= origins - 1;
+
+                    position.removePiece(square);
+                    position.putPiece(origin, pieceCode);
+                    int predecessor = (int) material.index(position, movedSide, false);
+                    if (codes[predecessor] == UNRESOLVED) {
+                        nextCandidates[predecessor] = 1;
+                    }
+                    position.removePiece(origin);
+                    position.putPiece(square, pieceCode);
+                }
+            }
+        }
+
+        // Squares a pawn standing here could have been pushed from; pawns never stand on their first rank
+        private static long pawnOrigins(int square, int colorIndex, long occupancy) {
+            long single = shiftForward(squareBit(square), opponent(colorIndex)) & ~occupancy
+                    & ~rankMask(colorIndex == WHITE ? 7 : 0);
+            int pushedToRank = colorIndex == WHITE ? 4 : 3;
+            if (squareY(square) != pushedToRank) {
+                return single;
+            }
+            return single | (shiftForward(single, opponent(colorIndex)) & ~occupancy);
+        }
+
+        private static boolean hasCaptureMove(MoveBuffer moves) {
+            for (int i = 0; i < moves.size(); i++) {
+                if (Moves.isCapture(moves.get(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package services.tablebase;
+
+import services.bitboard.BitboardPosition;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The loaded tables, found by the material of a position. A table serves its
+ * ending with either color to move and also the color-swapped ending, which it
+ * reads on the mirrored board, so {@code KRvK} answers for {@code KvKR} too.
+ */
+public class Tablebases {
+    public static final int NOT_FOUND = -1;
+
+    private static final Tablebases EMPTY = new Tablebases(Map.of());
+
+    private final Map<Long, Tablebase> tables;
+    private final int maxPieces;
+
+    private Tablebases(Map<Long, Tablebase> tables) {
+        this.tables = tables;
+        this.maxPieces = tables.values().stream()
+                .mapToInt(table -> table.getMaterial().getPieceCount())
+                .max()
+                .orElse(0);
+    }
+
+    public static Tablebases empty() {
+        return EMPTY;
+    }
+
+    // Maps every tablebase file in the directory
+    public static Tablebases load(Path directory) throws IOException {
+        Map<Long, Tablebase> tables = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + Tablebase.FILE_EXTENSION)) {
+            for (Path file : files) {
+                Tablebase table = Tablebase.open(file);
+                tables.put(table.getMaterial().getKey(), table);
+            }
+        }
+        return new Tablebases(tables);
+    }
+
+    public int getMaxPieces() {
+        return maxPieces;
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    /**
+     * The {@link Tablebase} code of the position for the side to move, or
+     * {@link #NOT_FOUND} when no table covers its material.
+     */
+    public int probe(BitboardPosition position, int sideToMove) {
+        if (Long.bitCount(position.getOccupancy()) > maxPieces) {
+            return NOT_FOUND;
+        }
+
+        long key = Material.keyOf(position);
+        Tablebase table = tables.get(key);
+        if (table != null) {
+            return table.probe(position, sideToMove, false);
+        }
+
+        table = tables.get(Material.flipKey(key));
+        return table != null ? table.probe(position, sideToMove, true) : NOT_FOUND;
+    }
+}
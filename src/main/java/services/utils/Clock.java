@@ -36,6 +36,14 @@ public class Clock {
 
     }
 
+    public int getRemainingSeconds() {
+        return hours * 3600 + minutes * 60 + seconds;
+    }
+
+    public long getRemainingMillis() {
+        return getRemainingSeconds() * 1000L;
+    }
+
     public String getFormattedTime() {
         String formattedHours = String.format("%02d", hours);
         String formattedMinutes = String.format("%02d", minutes);
@@ -1,12 +1,18 @@
 package services.utils;
 
+import services.bitboard.AttackTables;
+import services.bitboard.MagicBitboards;
 import services.board.SquareInterface;
+import services.enums.PieceColor;
+import services.enums.PieceType;
 import services.strategy.common.PieceInterface;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static services.bitboard.Bitboards.*;
+
 public class MovementUtil {
 
     private static final int[][] LINEAR_DIRECTIONS = {
@@ -17,6 +23,7 @@ public class MovementUtil {
             {-1, -1}, {1, -1}, {1, 1}, {-1, 1}
     };
 
+    // The grid walkers predate the magic tables; MagicBitboards.selfCheck uses them as its independent reference
     public static List<SquareInterface> getLinearMoves(SquareInterface[][] squareArrayBoard, PieceInterface piece) {
         return getMovesInDirections(squareArrayBoard, piece, LINEAR_DIRECTIONS);
     }
@@ -56,6 +63,105 @@ public class MovementUtil {
         return legalSquares;
     }
 
+    // Converts a mask of attacked squares into target squares, skipping those held by friendly pieces
+    public static List<SquareInterface> getMovesFromMask(SquareInterface[][] squareArrayBoard, PieceInterface piece, long targetMask) {
+        List<SquareInterface> legalSquares = new ArrayList<>(Long.bitCount(targetMask));
+
+        while (targetMask != 0) {
+            int square = Long.numberOfTrailingZeros(targetMask);
+            targetMask &= targetMask - 1;
+
+            SquareInterface targetSquare = squareArrayBoard[squareY(square)][squareX(square)];
+            if (!targetSquare.isOccupied()
+                    || targetSquare.getOccupyingPiece().getPieceColor() != piece.getPieceColor()) {
+                legalSquares.add(targetSquare);
+            }
+        }
+
+        return legalSquares;
+    }
+
+    public static long getLinearAttacks(int square, long occupancy) {
+        return getAttacksInDirections(square, occupancy, LINEAR_DIRECTIONS);
+    }
+
+    public static long getDiagonalAttacks(int square, long occupancy) {
+        return getAttacksInDirections(square, occupancy, DIAGONAL_DIRECTIONS);
+    }
+
+    // Same ray walk as getMovesInDirections, on an occupancy mask instead of the square grid
+    private static long getAttacksInDirections(int square, long occupancy, int[][] directions) {
+        long attacks = 0L;
+        int x = squareX(square);
+        int y = squareY(square);
+
+        for (int[] direction : directions) {
+            int dy = direction[0];
+            int dx = direction[1];
+            int currentY = y + dy;
+            int currentX = x + dx;
+
+            while (isInBound(currentX, currentY)) {
+                long bit = squareBit(squareIndex(currentX, currentY));
+                attacks |= bit;
+
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+
+                currentY += dy;
+                currentX += dx;
+            }
+        }
+
+        return attacks;
+    }
+
+    // Occupancy of the given squares, read from the square grid
+    public static long getOccupancy(SquareInterface[][] squareArrayBoard, long squareMask) {
+        long occupancy = 0L;
+
+        while (squareMask != 0) {
+            int square = Long.numberOfTrailingZeros(squareMask);
+            squareMask &= squareMask - 1;
+
+            if (squareArrayBoard[squareY(square)][squareX(square)].isOccupied()) {
+                occupancy |= squareBit(square);
+            }
+        }
+
+        return occupancy;
+    }
+
+    // Grid counterpart of the bitboard attack query: looks outward from the square for each kind of attacker
+    public static boolean isSquareAttacked(SquareInterface[][] squareArrayBoard, int square, PieceColor byColor) {
+        long pawnSources = AttackTables.pawnAttacks(square, opponent(colorIndex(byColor)));
+        long rookRays = MagicBitboards.rookAttacks(square, getOccupancy(squareArrayBoard, MagicBitboards.rookMask(square)));
+        long bishopRays = MagicBitboards.bishopAttacks(square, getOccupancy(squareArrayBoard, MagicBitboards.bishopMask(square)));
+
+        return hasAttacker(squareArrayBoard, pawnSources, byColor, PieceType.PAWN, PieceType.PAWN)
+                || hasAttacker(squareArrayBoard, AttackTables.knightAttacks(square), byColor, PieceType.KNIGHT, PieceType.KNIGHT)
+                || hasAttacker(squareArrayBoard, AttackTables.kingAttacks(square), byColor, PieceType.KING, PieceType.KING)
+                || hasAttacker(squareArrayBoard, rookRays, byColor, PieceType.ROOK, PieceType.QUEEN)
+                || hasAttacker(squareArrayBoard, bishopRays, byColor, PieceType.BISHOP, PieceType.QUEEN);
+    }
+
+    private static boolean hasAttacker(SquareInterface[][] squareArrayBoard, long sourceMask, PieceColor color,
+                                       PieceType type, PieceType otherType) {
+        while (sourceMask != 0) {
+            int square = Long.numberOfTrailingZeros(sourceMask);
+            sourceMask &= sourceMask - 1;
+
+            PieceInterface piece = squareArrayBoard[squareY(square)][squareX(square)].getOccupyingPiece();
+            if (piece != null && piece.getPieceColor() == color
+                    && (piece.getPieceType() == type || piece.getPieceType() == otherType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     public static boolean isInBound(int x, int y) {
         return x >= 0 && x < 8 && y >= 0 && y < 8;
     }
@@ -8,6 +8,7 @@ import services.strategy.common.PieceInterface;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 import static services.enums.PieceColor.BLACK;
 import static services.enums.PieceColor.WHITE;
@@ -33,6 +34,14 @@ public class BoardView extends JPanel {
         this.setSize(new Dimension(400, 400));
     }
 
+    // Highlights the given squares and clears every other one
+    public void highlightSquares(List<SquareInterface> squares) {
+        for (Component component : this.getComponents()) {
+            SquareView squareView = (SquareView) component;
+            squareView.setHighlighted(squares.contains(squareView.getSquare()));
+        }
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -14,6 +14,8 @@ import static services.enums.PieceColor.WHITE;
 public class SquareView extends JComponent {
     private SquareInterface square;
     private boolean displayPiece;
+    // Marks a square the piece being dragged may be dropped on
+    private boolean highlighted;
 
     public SquareView(SquareInterface square) {
         this.square = square;
@@ -25,7 +27,9 @@ public class SquareView extends JComponent {
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
 
-        if (this.square.getSquareColor().equals(WHITE)) {
+        if (this.highlighted) {
+            g.setColor(this.square.getSquareColor().equals(WHITE) ? new Color(170, 200, 110) : new Color(90, 120, 40));
+        } else if (this.square.getSquareColor().equals(WHITE)) {
             g.setColor(new Color(221, 192, 127));
         } else {
             g.setColor(new Color(101, 67, 33));
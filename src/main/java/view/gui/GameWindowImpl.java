@@ -3,7 +3,7 @@ package view.gui;
 import controller.GameController;
 import controller.GameControllerImpl;
 import controller.GameWindowInterface;
-import model.board.Board;
+import model.board.BitboardBoard;
 import services.board.BoardInterface;
 import services.board.BoardService;
 import services.board.BoardServiceImpl;
@@ -56,7 +56,7 @@ public class GameWindowImpl implements GameWindow, GameWindowInterface {
         gameData.setSize(gameData.getPreferredSize());
         gameWindow.add(gameData, BorderLayout.NORTH);
 
-        BoardInterface boardInterface = new Board();
+        BoardInterface boardInterface = new BitboardBoard();
 
         this.boardService = new BoardServiceImpl(boardInterface);
 
@@ -255,6 +255,25 @@ public class GameWindowImpl implements GameWindow, GameWindowInterface {
         endLogicHelper(outputMessage, title);
     }
 
+    public void threefoldRepetitionOccurred() {
+        String outputMessage = "Draw by threefold repetition! Set up a new game? \n" +
+                "Choosing \"No\" lets you look at the final situation.";
+
+        endLogicHelper(outputMessage, "Draw!");
+    }
+
+    public void fiftyMoveRuleOccurred() {
+        String outputMessage = "Draw by the fifty-move rule! Set up a new game? \n" +
+                "Choosing \"No\" lets you look at the final situation.";
+
+        endLogicHelper(outputMessage, "Draw!");
+    }
+
+    public void kingLeftInCheck() {
+        JOptionPane.showMessageDialog(gameWindow, "Invalid move. Your king is in check!",
+                "Invalid move", JOptionPane.WARNING_MESSAGE);
+    }
+
     private void endLogicHelper(String outputMessage, String title){
         if (timer != null) timer.stop();
         int n = JOptionPane.showConfirmDialog(
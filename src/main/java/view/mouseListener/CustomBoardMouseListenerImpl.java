@@ -10,6 +10,7 @@ import view.gui.GameWindow;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
+import java.util.List;
 
 public class CustomBoardMouseListenerImpl implements CustomBoardMouseListener {
 
@@ -41,6 +42,7 @@ public class CustomBoardMouseListenerImpl implements CustomBoardMouseListener {
 
         if (gameController.handlePress(targetSquare)) {
             squareView.setDisplayPiece(true);
+            boardView.highlightSquares(gameController.getLegalTargets(targetSquare));
             boardView.repaint();
         }
 
@@ -53,10 +55,11 @@ public class CustomBoardMouseListenerImpl implements CustomBoardMouseListener {
 
         SquareInterface targetSquare = squareView.getSquare();
 
+        boardView.highlightSquares(List.of());
         if (gameController.handleRelease(targetSquare)) {
             boardService.setCurrPiece(null);
-            boardView.repaint();
         }
+        boardView.repaint();
 
     }
 
@@ -0,0 +1,153 @@
+package controller;
+
+import model.board.BitboardBoard;
+import model.board.Board;
+import org.junit.jupiter.api.Test;
+import services.board.BoardService;
+import services.board.BoardServiceImpl;
+import services.board.SquareInterface;
+import services.checkmatedetection.CheckmateDetectorImpl;
+import services.enums.PieceColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class GameControllerImplTest {
+
+    @Test
+    void shouldReportCheckmateOnBothBoards() {
+        for (BoardService boardService : new BoardService[]{
+                new BoardServiceImpl(new BitboardBoard()), new BoardServiceImpl(new Board())}) {
+            // Arrange
+            RecordingWindow window = new RecordingWindow();
+            GameController controller = new GameControllerImpl(boardService, new CheckmateDetectorImpl(), window);
+
+            // Act - fool's mate
+            for (String move : new String[]{"f2f3", "e7e5", "g2g4", "d8h4"}) {
+                assertTrue(drag(controller, boardService, move), move);
+            }
+
+            // Assert
+            assertEquals(List.of("checkmate WHITE"), window.events);
+            assertTrue(boardService.isWhiteTurn());
+        }
+    }
+
+    @Test
+    void shouldRejectIllegalDropAndKeepTurn() {
+        // Arrange
+        BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+        GameController controller = new GameControllerImpl(boardService, new CheckmateDetectorImpl(), new RecordingWindow());
+
+        // Act
+        boolean dropped = drag(controller, boardService, "g1g3");
+
+        // Assert
+        assertFalse(dropped);
+        assertTrue(boardService.isWhiteTurn());
+        assertNotNull(square(boardService, "g1").getOccupyingPiece());
+    }
+
+    @Test
+    void shouldNotPickUpPieceWithoutLegalMoves() {
+        // Arrange
+        BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+        GameController controller = new GameControllerImpl(boardService, new CheckmateDetectorImpl(), new RecordingWindow());
+
+        // Act & Assert
+        assertFalse(controller.handlePress(square(boardService, "a1")));
+        assertTrue(controller.handlePress(square(boardService, "b1")));
+        assertFalse(controller.handlePress(square(boardService, "b8")));
+    }
+
+    @Test
+    void shouldListLegalTargetsOnBothBoards() {
+        for (BoardService boardService : new BoardService[]{
+                new BoardServiceImpl(new BitboardBoard()), new BoardServiceImpl(new Board())}) {
+            // Arrange
+            GameController controller = new GameControllerImpl(boardService, new CheckmateDetectorImpl(), new RecordingWindow());
+
+            // Act
+            Set<String> knightTargets = names(controller.getLegalTargets(square(boardService, "g1")));
+            Set<String> blackTargets = names(controller.getLegalTargets(square(boardService, "g8")));
+
+            // Assert
+            assertEquals(Set.of("f3", "h3"), knightTargets);
+            assertTrue(blackTargets.isEmpty());
+        }
+    }
+
+    @Test
+    void shouldReportDropThatLeavesKingInCheckOnBothBoards() {
+        for (BoardService boardService : new BoardService[]{
+                new BoardServiceImpl(new BitboardBoard()), new BoardServiceImpl(new Board())}) {
+            // Arrange
+            RecordingWindow window = new RecordingWindow();
+            GameController controller = new GameControllerImpl(boardService, new CheckmateDetectorImpl(), window);
+            for (String move : new String[]{"e2e4", "f7f6", "d1h5"}) {
+                assertTrue(drag(controller, boardService, move), move);
+            }
+
+            // Act
+            boolean dropped = drag(controller, boardService, "a7a6");
+
+            // Assert
+            assertFalse(dropped);
+            assertEquals(List.of("king in check"), window.events);
+            assertFalse(boardService.isWhiteTurn());
+        }
+    }
+
+    private static boolean drag(GameController controller, BoardService boardService, String move) {
+        SquareInterface from = square(boardService, move.substring(0, 2));
+        controller.handlePress(from);
+        int plyBefore = boardService.getPositionHistory().getPlies();
+        return controller.handleRelease(square(boardService, move.substring(2, 4)))
+                && boardService.getPositionHistory().getPlies() > plyBefore;
+    }
+
+    private static SquareInterface square(BoardService boardService, String name) {
+        int square = parseSquare(name);
+        return boardService.getBoardSquareArray()[squareY(square)][squareX(square)];
+    }
+
+    private static Set<String> names(List<SquareInterface> squares) {
+        return squares.stream()
+                .map(square -> squareName(squareIndex(square.getXNum(), square.getYNum())))
+                .collect(Collectors.toSet());
+    }
+
+    private static class RecordingWindow implements GameWindowInterface {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void checkmateOccurred(PieceColor pieceColor) {
+            events.add("checkmate " + pieceColor);
+        }
+
+        @Override
+        public void stalemateOccurred() {
+            events.add("stalemate");
+        }
+
+        @Override
+        public void threefoldRepetitionOccurred() {
+            events.add("repetition");
+        }
+
+        @Override
+        public void fiftyMoveRuleOccurred() {
+            events.add("fifty moves");
+        }
+
+        @Override
+        public void kingLeftInCheck() {
+            events.add("king in check");
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package model.board;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.bitboard.BitboardMoveGenerator;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Bitboards;
+import services.bitboard.MoveBuffer;
+import services.board.BoardService;
+import services.board.BoardServiceImpl;
+import services.board.SquareInterface;
+import services.checkmatedetection.CheckmateDetector;
+import services.checkmatedetection.CheckmateDetectorImpl;
+import services.strategy.*;
+import services.strategy.common.PieceInterface;
+import services.strategy.common.PieceStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+import static services.enums.PieceColor.BLACK;
+import static services.enums.PieceColor.WHITE;
+
+public class BitboardBoardTest {
+    private BoardService boardService;
+    private BitboardPosition position;
+
+    @BeforeEach
+    void setUp() {
+        boardService = new BoardServiceImpl(new BitboardBoard());
+        position = boardService.getBitboardPosition().orElseThrow();
+    }
+
+    @Test
+    void shouldMirrorInitialPositionInMasks() {
+        // Assert
+        assertEquals(32, Long.bitCount(position.getOccupancy()));
+        assertEquals(rankMask(6), position.getPieces(Bitboards.WHITE, PAWN));
+        assertEquals(rankMask(1), position.getPieces(Bitboards.BLACK, PAWN));
+        assertEquals(squareIndex(4, 7), position.getKingSquare(Bitboards.WHITE));
+        assertEquals(squareIndex(4, 0), position.getKingSquare(Bitboards.BLACK));
+    }
+
+    @Test
+    void shouldKeepMasksInSyncWhenPiecesMoveAndCapture() {
+        // Arrange
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        PieceInterface whitePawn = squares[6][4].getOccupyingPiece();
+        PieceInterface blackPawn = squares[1][3].getOccupyingPiece();
+
+        // Act
+        whitePawn.move(squares[4][4], boardService);
+        blackPawn.move(squares[3][3], boardService);
+        whitePawn.move(squares[3][3], boardService);
+
+        // Assert
+        assertEquals(31, Long.bitCount(position.getOccupancy()));
+        assertFalse(position.isOccupied(squareIndex(4, 6)));
+        assertEquals(pieceCode(WHITE, whitePawn.getPieceType()), position.getPieceAt(squareIndex(3, 3)));
+        assertEquals(0L, position.getPieces(Bitboards.BLACK, PAWN) & squareBit(squareIndex(3, 3)));
+    }
+
+    @Test
+    void shouldGenerateSameTargetsAsPieceStrategies() {
+        // Arrange
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        squares[6][4].getOccupyingPiece().move(squares[4][4], boardService);
+        squares[1][3].getOccupyingPiece().move(squares[3][3], boardService);
+        squares[7][3].getOccupyingPiece().move(squares[3][7], boardService);
+
+        // Act & Assert
+        for (SquareInterface[] row : squares) {
+            for (SquareInterface square : row) {
+                if (!square.isOccupied()) {
+                    continue;
+                }
+
+                List<SquareInterface> legalMoves = strategyFor(square.getOccupyingPiece()).getLegalMoves(squares);
+                long expected = 0L;
+                for (SquareInterface target : legalMoves) {
+                    expected |= squareBit(squareIndex(target.getXNum(), target.getYNum()));
+                }
+
+                int from = squareIndex(square.getXNum(), square.getYNum());
+                assertEquals(expected, BitboardMoveGenerator.getTargets(position, from),
+                        "Targets differ for the piece on square " + from);
+            }
+        }
+    }
+
+    @Test
+    void shouldAdaptBufferedMovesToSquares() {
+        // Arrange
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        PieceInterface knight = squares[7][6].getOccupyingPiece();
+
+        // Act
+        List<SquareInterface> legalMoves = knight.getLegalMoves(squares);
+
+        // Assert
+        assertEquals(2, legalMoves.size());
+        assertTrue(legalMoves.contains(squares[5][5]));
+        assertTrue(legalMoves.contains(squares[5][7]));
+    }
+
+    @Test
+    void shouldGenerateWithoutAllocating() {
+        // Arrange
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MoveBuffer buffer = new MoveBuffer();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 10_000; i++) {
+            buffer.clear();
+            BitboardMoveGenerator.generateMoves(position, Bitboards.WHITE, buffer);
+        }
+
+        // Act
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            buffer.clear();
+            BitboardMoveGenerator.generateMoves(position, Bitboards.WHITE, buffer);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // Assert
+        assertEquals(20, buffer.size());
+        assertTrue(allocated < 1024, "Generation allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void shouldGenerateThroughPiecesWithoutAllocating() {
+        // Arrange
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MoveBuffer buffer = new MoveBuffer();
+        long threadId = Thread.currentThread().getId();
+        List<PieceInterface> whitePieces = boardService.getWhitePieces();
+        for (int i = 0; i < 10_000; i++) {
+            buffer.clear();
+            for (int piece = 0; piece < whitePieces.size(); piece++) {
+                whitePieces.get(piece).generateMoves(position, buffer);
+            }
+        }
+
+        // Act
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            buffer.clear();
+            for (int piece = 0; piece < whitePieces.size(); piece++) {
+                whitePieces.get(piece).generateMoves(position, buffer);
+            }
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // Assert
+        assertEquals(20, buffer.size());
+        assertTrue(allocated < 1024, "Generation allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void shouldAnswerSquareAttackedQueriesConsistently() {
+        // Arrange
+        BoardService gridBoardService = new BoardServiceImpl(new Board());
+        playOpening(boardService);
+        playOpening(gridBoardService);
+
+        for (int colorIndex = Bitboards.WHITE; colorIndex <= Bitboards.BLACK; colorIndex++) {
+            long attacked = BitboardMoveGenerator.getAttackedSquares(position, colorIndex);
+
+            for (int square = 0; square < 64; square++) {
+                SquareInterface gridSquare = gridBoardService.getBoardSquareArray()[squareY(square)][squareX(square)];
+                SquareInterface bitboardSquare = boardService.getBoardSquareArray()[squareY(square)][squareX(square)];
+                boolean expected = (attacked & squareBit(square)) != 0;
+
+                // Assert
+                assertEquals(expected, BitboardMoveGenerator.isSquareAttacked(position, square, colorIndex));
+                assertEquals(expected, boardService.isSquareAttacked(bitboardSquare, pieceColor(colorIndex)));
+                assertEquals(expected, gridBoardService.isSquareAttacked(gridSquare, pieceColor(colorIndex)));
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepKingSquaresCurrent() {
+        // Arrange
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        squares[6][4].getOccupyingPiece().move(squares[4][4], boardService);
+
+        // Act
+        squares[7][4].getOccupyingPiece().move(squares[6][4], boardService);
+
+        // Assert
+        assertEquals(squareIndex(4, 6), position.getKingSquare(Bitboards.WHITE));
+        assertSame(squares[6][4], boardService.getWhiteKing().orElseThrow().getCurrentSquare());
+    }
+
+    @Test
+    void shouldDetectFoolsMateOnMasks() {
+        // Arrange
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        CheckmateDetector checkmateDetector = new CheckmateDetectorImpl();
+
+        // Act
+        squares[6][5].getOccupyingPiece().move(squares[5][5], boardService);
+        squares[1][4].getOccupyingPiece().move(squares[3][4], boardService);
+        squares[6][6].getOccupyingPiece().move(squares[4][6], boardService);
+        squares[0][3].getOccupyingPiece().move(squares[4][7], boardService);
+
+        // Assert
+        assertTrue(checkmateDetector.isInCheck(boardService, WHITE));
+        assertTrue(checkmateDetector.isInCheckmate(boardService, WHITE));
+        assertFalse(checkmateDetector.isInStalemate(boardService, WHITE));
+        assertFalse(checkmateDetector.isInCheck(boardService, BLACK));
+    }
+
+    private void playOpening(BoardService service) {
+        SquareInterface[][] squares = service.getBoardSquareArray();
+        service.makeMove(squares[6][4].getOccupyingPiece(), squares[4][4]);
+        service.makeMove(squares[1][4].getOccupyingPiece(), squares[3][4]);
+        service.makeMove(squares[7][5].getOccupyingPiece(), squares[4][2]);
+        service.makeMove(squares[0][1].getOccupyingPiece(), squares[2][2]);
+        service.makeMove(squares[7][3].getOccupyingPiece(), squares[3][7]);
+        service.makeMove(squares[1][3].getOccupyingPiece(), squares[2][3]);
+    }
+
+    private PieceStrategy strategyFor(PieceInterface piece) {
+        switch (piece.getPieceType()) {
+            case PAWN:
+                return new PawnStrategy(piece);
+            case KNIGHT:
+                return new KnightStrategy(piece);
+            case BISHOP:
+                return new BishopStrategy(piece);
+            case ROOK:
+                return new RookStrategy(piece);
+            case QUEEN:
+                return new QueenStrategy(piece);
+            default:
+                return new KingStrategy(piece);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package services.bitboard;
+
+import model.board.BitboardBoard;
+import org.junit.jupiter.api.Test;
+import services.board.BoardServiceImpl;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class AttackMapsTest {
+
+    @Test
+    void shouldMatchRecomputedAttacksOverRandomGames() {
+        // Arrange
+        Random random = new Random(23);
+        MoveBuffer legal = new MoveBuffer();
+        MoveBuffer expectedMoves = new MoveBuffer();
+
+        for (int game = 0; game < 40; game++) {
+            BitboardPosition tracked = new BitboardPosition();
+            int side = Fen.load(Fen.STARTING_POSITION, tracked);
+            tracked.trackAttacks();
+
+            for (int ply = 0; ply < 120; ply++) {
+                BitboardPosition untracked = tracked.copy();
+
+                // Act
+                legal.clear();
+                LegalMoveGenerator.generateLegalMoves(tracked, side, legal);
+                expectedMoves.clear();
+                LegalMoveGenerator.generateLegalMoves(untracked, side, expectedMoves);
+
+                // Assert
+                assertFalse(untracked.isTrackingAttacks());
+                assertAttacksMatch(tracked, untracked, "game " + game + " ply " + ply);
+                assertEquals(expectedMoves.size(), legal.size(), "game " + game + " ply " + ply);
+                for (int i = 0; i < legal.size(); i++) {
+                    assertTrue(expectedMoves.contains(legal.get(i)));
+                }
+
+                if (legal.isEmpty()) {
+                    break;
+                }
+                // Every move is also made and taken back, which must leave the maps as they were
+                for (int i = 0; i < legal.size(); i++) {
+                    tracked.makeMove(legal.get(i));
+                    tracked.unmakeMove(legal.get(i));
+                }
+                assertAttacksMatch(tracked, untracked, "after unmake in game " + game + " ply " + ply);
+
+                tracked.makeMove(legal.get(random.nextInt(legal.size())));
+                side = opponent(side);
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepKingOffRayOfSlidingChecker() {
+        // Arrange - black rook on a8 checks the white king on a4
+        BitboardPosition position = new BitboardPosition();
+        position.trackAttacks();
+        position.putPiece(parseSquare("a4"), pieceCode(WHITE, KING));
+        position.putPiece(parseSquare("a8"), pieceCode(BLACK, ROOK));
+        position.putPiece(parseSquare("h8"), pieceCode(BLACK, KING));
+        MoveBuffer moves = new MoveBuffer();
+
+        // Act
+        BitboardMoveGenerator.generateKingMoves(position, parseSquare("a4"), moves);
+
+        // Assert
+        assertTrue(BitboardMoveGenerator.isInCheck(position, WHITE));
+        assertEquals(2, position.getAttackerCount(BLACK, parseSquare("g8")));
+        assertEquals(3, moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(1, squareX(Moves.to(moves.get(i))), Moves.toNotation(moves.get(i)));
+        }
+    }
+
+    @Test
+    void shouldTrackAttacksOnTheInteractiveBoard() {
+        // Arrange
+        BitboardPosition position = new BoardServiceImpl(new BitboardBoard()).getBitboardPosition().orElseThrow();
+
+        // Act
+        long whiteAttacks = position.getAttackedSquares(WHITE);
+
+        // Assert
+        assertTrue(position.isTrackingAttacks());
+        assertEquals(BitboardMoveGenerator.getAttackedSquares(position, WHITE), whiteAttacks);
+        assertEquals(0x7EFFFF0000000000L, whiteAttacks);
+        assertEquals(3, position.getAttackerCount(WHITE, parseSquare("f3")));
+    }
+
+    private static void assertAttacksMatch(BitboardPosition tracked, BitboardPosition untracked, String where) {
+        for (int colorIndex = WHITE; colorIndex <= BLACK; colorIndex++) {
+            assertEquals(untracked.getAttackedSquares(colorIndex), tracked.getAttackedSquares(colorIndex), where);
+            for (int square = 0; square < 64; square++) {
+                assertEquals(untracked.getAttackerCount(colorIndex, square),
+                        tracked.getAttackerCount(colorIndex, square), where + " square " + square);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package services.bitboard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class AttackTablesTest {
+
+    @Test
+    void shouldHaveKnightAttackCountsByPosition() {
+        // Assert
+        assertEquals(2, Long.bitCount(AttackTables.knightAttacks(squareIndex(0, 0))));
+        assertEquals(3, Long.bitCount(AttackTables.knightAttacks(squareIndex(0, 1))));
+        assertEquals(4, Long.bitCount(AttackTables.knightAttacks(squareIndex(0, 4))));
+        assertEquals(8, Long.bitCount(AttackTables.knightAttacks(squareIndex(4, 4))));
+    }
+
+    @Test
+    void shouldHaveKingAttackCountsByPosition() {
+        // Assert
+        assertEquals(3, Long.bitCount(AttackTables.kingAttacks(squareIndex(7, 7))));
+        assertEquals(5, Long.bitCount(AttackTables.kingAttacks(squareIndex(0, 4))));
+        assertEquals(8, Long.bitCount(AttackTables.kingAttacks(squareIndex(4, 4))));
+    }
+
+    @Test
+    void shouldMatchKnightAndKingStepsOnEverySquare() {
+        for (int square = 0; square < 64; square++) {
+            long knight = 0L;
+            long king = 0L;
+            for (int target = 0; target < 64; target++) {
+                int dx = Math.abs(squareX(target) - squareX(square));
+                int dy = Math.abs(squareY(target) - squareY(square));
+                if (dx * dy == 2) {
+                    knight |= squareBit(target);
+                }
+                if (Math.max(dx, dy) == 1) {
+                    king |= squareBit(target);
+                }
+            }
+
+            // Assert
+            assertEquals(knight, AttackTables.knightAttacks(square), "Knight attacks differ on square " + square);
+            assertEquals(king, AttackTables.kingAttacks(square), "King attacks differ on square " + square);
+        }
+    }
+
+    @Test
+    void shouldAttackDiagonallyForwardWithPawns() {
+        // Arrange
+        int square = squareIndex(4, 6);
+
+        // Act
+        long whiteAttacks = AttackTables.pawnAttacks(square, WHITE);
+        long blackAttacks = AttackTables.pawnAttacks(square, BLACK);
+
+        // Assert
+        assertEquals(squareBit(squareIndex(3, 5)) | squareBit(squareIndex(5, 5)), whiteAttacks);
+        assertEquals(squareBit(squareIndex(3, 7)) | squareBit(squareIndex(5, 7)), blackAttacks);
+        assertEquals(squareBit(squareIndex(1, 5)), AttackTables.pawnAttacks(squareIndex(0, 6), WHITE));
+    }
+
+    @Test
+    void shouldFindAttackersOfSquare() {
+        // Arrange
+        int target = squareIndex(4, 4);
+        long whitePawns = squareBit(squareIndex(3, 5)) | squareBit(squareIndex(4, 5));
+        long knights = squareBit(squareIndex(5, 6)) | squareBit(squareIndex(0, 0));
+
+        // Assert
+        assertEquals(squareBit(squareIndex(3, 5)), AttackTables.pawnAttackers(target, WHITE, whitePawns));
+        assertEquals(squareBit(squareIndex(5, 6)), AttackTables.knightAttackers(target, knights));
+    }
+}
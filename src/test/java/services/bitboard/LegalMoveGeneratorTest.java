@@ -0,0 +1,143 @@
+package services.bitboard;
+
+import model.board.BitboardBoard;
+import org.junit.jupiter.api.Test;
+import services.board.BoardServiceImpl;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class LegalMoveGeneratorTest {
+
+    @Test
+    void shouldMatchPseudoLegalMovesFilteredByCheckOverRandomGames() {
+        // Arrange
+        Random random = new Random(7);
+        MoveBuffer pseudoLegal = new MoveBuffer();
+        MoveBuffer legal = new MoveBuffer();
+
+        for (int game = 0; game < 50; game++) {
+            BitboardPosition position = new BoardServiceImpl(new BitboardBoard()).getBitboardPosition()
+                    .orElseThrow().copy();
+            int side = Bitboards.WHITE;
+
+            for (int ply = 0; ply < 120; ply++) {
+                // Act
+                legal.clear();
+                LegalMoveGenerator.generateLegalMoves(position, side, legal);
+
+                pseudoLegal.clear();
+                BitboardMoveGenerator.generateMoves(position, side, pseudoLegal);
+                int expected = 0;
+                for (int i = 0; i < pseudoLegal.size(); i++) {
+                    int move = pseudoLegal.get(i);
+                    position.makeMove(move);
+                    if (!BitboardMoveGenerator.isInCheck(position, side)) {
+                        expected++;
+                        assertTrue(legal.contains(move), "Missing legal move in game " + game + " at ply " + ply);
+                    }
+                    position.unmakeMove(move);
+                }
+
+                // Assert
+                assertEquals(expected, legal.size());
+                assertEquals(expected, LegalMoveGenerator.countLegalMoves(position, side));
+                assertEquals(expected > 0, LegalMoveGenerator.hasLegalMove(position, side));
+
+                if (legal.isEmpty()) {
+                    break;
+                }
+                position.makeMove(legal.get(random.nextInt(legal.size())));
+                side = opponent(side);
+            }
+        }
+    }
+
+    @Test
+    void shouldGenerateExactlyTheLegalCapturesOverRandomGames() {
+        // Arrange
+        Random random = new Random(11);
+        MoveBuffer legal = new MoveBuffer();
+        MoveBuffer captures = new MoveBuffer();
+
+        for (int game = 0; game < 50; game++) {
+            BitboardPosition position = new BitboardPosition();
+            int side = Fen.load(Fen.STARTING_POSITION, position);
+
+            for (int ply = 0; ply < 120; ply++) {
+                legal.clear();
+                LegalMoveGenerator.generateLegalMoves(position, side, legal);
+
+                // Act
+                captures.clear();
+                LegalMoveGenerator.generateLegalCaptures(position, side, captures);
+
+                // Assert
+                int expected = 0;
+                for (int i = 0; i < legal.size(); i++) {
+                    if (Moves.isCapture(legal.get(i))) {
+                        expected++;
+                        assertTrue(captures.contains(legal.get(i)), "Missing capture in game " + game + " at ply " + ply);
+                    }
+                }
+                assertEquals(expected, captures.size());
+
+                if (legal.isEmpty()) {
+                    break;
+                }
+                position.makeMove(legal.get(random.nextInt(legal.size())));
+                side = opponent(side);
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepPinnedRookOnItsFile() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        position.putPiece(squareIndex(4, 7), pieceCode(Bitboards.WHITE, KING));
+        position.putPiece(squareIndex(4, 6), pieceCode(Bitboards.WHITE, ROOK));
+        position.putPiece(squareIndex(4, 0), pieceCode(Bitboards.BLACK, ROOK));
+        position.putPiece(squareIndex(0, 0), pieceCode(Bitboards.BLACK, KING));
+        MoveBuffer buffer = new MoveBuffer();
+
+        // Act
+        LegalMoveGenerator.generateLegalMoves(position, Bitboards.WHITE, buffer);
+
+        // Assert
+        assertEquals(squareBit(squareIndex(4, 6)), LegalMoveGenerator.getPinnedPieces(position, Bitboards.WHITE));
+        int rookMoves = 0;
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+            if (Moves.from(move) == squareIndex(4, 6)) {
+                assertEquals(4, squareX(Moves.to(move)));
+                rookMoves++;
+            }
+        }
+        assertEquals(6, rookMoves);
+    }
+
+    @Test
+    void shouldOnlyAllowKingMovesInDoubleCheck() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        position.putPiece(squareIndex(4, 7), pieceCode(Bitboards.WHITE, KING));
+        position.putPiece(squareIndex(0, 6), pieceCode(Bitboards.WHITE, QUEEN));
+        position.putPiece(squareIndex(4, 0), pieceCode(Bitboards.BLACK, ROOK));
+        position.putPiece(squareIndex(3, 5), pieceCode(Bitboards.BLACK, KNIGHT));
+        position.putPiece(squareIndex(0, 0), pieceCode(Bitboards.BLACK, KING));
+        MoveBuffer buffer = new MoveBuffer();
+
+        // Act
+        LegalMoveGenerator.generateLegalMoves(position, Bitboards.WHITE, buffer);
+
+        // Assert
+        assertFalse(buffer.isEmpty());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(squareIndex(4, 7), Moves.from(buffer.get(i)));
+            assertNotEquals(squareIndex(4, 6), Moves.to(buffer.get(i)));
+        }
+    }
+}
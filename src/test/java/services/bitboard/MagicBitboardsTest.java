@@ -0,0 +1,58 @@
+package services.bitboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class MagicBitboardsTest {
+
+    @Test
+    void shouldPassSelfCheckAgainstGridWalker() {
+        // Assert
+        assertTrue(MagicBitboards.selfCheck());
+    }
+
+    @Test
+    void shouldMatchGridWalkerForRandomOccupancies() {
+        // Arrange
+        Random random = new Random(42);
+        MagicBitboards.GridReference reference = new MagicBitboards.GridReference();
+
+        for (int i = 0; i < 10_000; i++) {
+            int square = random.nextInt(64);
+            long occupancy = random.nextLong() & random.nextLong();
+
+            // Assert
+            assertEquals(reference.attacks(square, occupancy, true), MagicBitboards.rookAttacks(square, occupancy));
+            assertEquals(reference.attacks(square, occupancy, false), MagicBitboards.bishopAttacks(square, occupancy));
+        }
+    }
+
+    @Test
+    void shouldStopRookRaysAtBlockers() {
+        // Arrange
+        int square = squareIndex(4, 4);
+        long occupancy = squareBit(squareIndex(4, 2)) | squareBit(squareIndex(6, 4));
+
+        // Act
+        long attacks = MagicBitboards.rookAttacks(square, occupancy);
+
+        // Assert
+        assertEquals(11, Long.bitCount(attacks));
+        assertNotEquals(0L, attacks & squareBit(squareIndex(4, 2)));
+        assertEquals(0L, attacks & squareBit(squareIndex(4, 1)));
+        assertEquals(0L, attacks & squareBit(squareIndex(7, 4)));
+    }
+
+    @Test
+    void shouldCoverBothDirectionsForQueen() {
+        // Act
+        long attacks = MagicBitboards.queenAttacks(squareIndex(0, 0), 0L);
+
+        // Assert
+        assertEquals(21, Long.bitCount(attacks));
+    }
+}
@@ -0,0 +1,70 @@
+package services.bitboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftTest {
+
+    @Test
+    void shouldCountStartingPositionNodes() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load(Fen.STARTING_POSITION, position);
+        Perft perft = new Perft(position, 4);
+
+        // Assert - castling, en passant and promotion cannot occur before depth 5
+        assertEquals(1L, perft.perft(side, 0));
+        assertEquals(20L, perft.perft(side, 1));
+        assertEquals(400L, perft.perft(side, 2));
+        assertEquals(8902L, perft.perft(side, 3));
+        assertEquals(197281L, perft.perft(side, 4));
+    }
+
+    @Test
+    void shouldCountEndgamePositionNodes() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", position);
+        Perft perft = new Perft(position, 2);
+
+        // Assert
+        assertEquals(14L, perft.perft(side, 1));
+        assertEquals(191L, perft.perft(side, 2));
+    }
+
+    @Test
+    void shouldSplitTotalByRootMove() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load(Fen.STARTING_POSITION, position);
+        Perft perft = new Perft(position, 3);
+
+        // Act
+        Map<String, Long> divide = perft.divide(side, 3);
+
+        // Assert
+        assertEquals(20, divide.size());
+        assertEquals(8902L, divide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(600L, divide.get("e2e4"));
+        assertEquals(Fen.STARTING_POSITION, Fen.toFen(position, side));
+    }
+
+    @Test
+    void shouldRejectDepthsOutsideItsBuffers() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load(Fen.STARTING_POSITION, position);
+        Perft perft = new Perft(position, 2);
+
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> new Perft(position, -1));
+        assertThrows(IllegalArgumentException.class, () -> new Perft(position, Perft.MAX_DEPTH + 1));
+        assertThrows(IllegalArgumentException.class, () -> perft.perft(side, -1));
+        assertThrows(IllegalArgumentException.class, () -> perft.divide(side, -1));
+        assertThrows(IllegalArgumentException.class, () -> perft.perft(side, 3));
+        assertEquals(Fen.STARTING_POSITION, Fen.toFen(position, side));
+    }
+}
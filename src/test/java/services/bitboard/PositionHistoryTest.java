@@ -0,0 +1,108 @@
+package services.bitboard;
+
+import model.board.BitboardBoard;
+import org.junit.jupiter.api.Test;
+import services.board.BoardService;
+import services.board.BoardServiceImpl;
+import services.board.SquareInterface;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class PositionHistoryTest {
+
+    @Test
+    void shouldDetectThreefoldRepetitionOfKnightShuffle() {
+        // Arrange
+        BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+        PositionHistory history = boardService.getPositionHistory();
+
+        // Act & Assert
+        play(boardService, "g1f3", "g8f6", "f3g1", "f6g8");
+        assertEquals(1, history.countRepetitions());
+        assertTrue(history.isRepetition());
+        assertFalse(history.isThreefoldRepetition());
+
+        play(boardService, "g1f3", "g8f6", "f3g1", "f6g8");
+        assertTrue(history.isThreefoldRepetition());
+        assertEquals(8, history.getHalfmoveClock());
+        assertEquals(boardService.getZobristHash(), history.getCurrentKey());
+        assertEquals(boardService.getBitboardPosition().orElseThrow().getZobristKey(), history.getCurrentKey());
+    }
+
+    @Test
+    void shouldFollowUnmakeMove() {
+        // Arrange
+        BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+        PositionHistory history = boardService.getPositionHistory();
+        long start = history.getCurrentKey();
+        play(boardService, "e2e4");
+
+        // Act
+        boardService.unmakeMove();
+        boardService.setWhiteTurn(true);
+
+        // Assert
+        assertEquals(0, history.getPlies());
+        assertEquals(start, history.getCurrentKey());
+    }
+
+    @Test
+    void shouldNotLookBehindIrreversibleMove() {
+        // Arrange
+        PositionHistory reversible = new PositionHistory(1L);
+        PositionHistory interrupted = new PositionHistory(1L);
+
+        // Act
+        for (long key : new long[]{2L, 3L, 4L, 1L}) {
+            reversible.push(key, false);
+            interrupted.push(key, key == 3L);
+        }
+
+        // Assert
+        assertTrue(reversible.isRepetition());
+        assertFalse(interrupted.isRepetition());
+        assertEquals(2, interrupted.getHalfmoveClock());
+    }
+
+    @Test
+    void shouldApplyFiftyMoveRuleAfterHundredReversiblePlies() {
+        // Arrange
+        PositionHistory history = new PositionHistory(0L);
+
+        // Act
+        for (int ply = 1; ply <= PositionHistory.FIFTY_MOVE_PLIES; ply++) {
+            history.push(ply, false);
+        }
+
+        // Assert
+        assertTrue(history.isFiftyMoveDraw());
+        history.pop();
+        assertFalse(history.isFiftyMoveDraw());
+    }
+
+    @Test
+    void shouldKeepCountingAfterRingBufferWraps() {
+        // Arrange
+        PositionHistory history = new PositionHistory(0L);
+
+        // Act - a four-ply cycle, long past the capacity of the buffer
+        for (int ply = 1; ply <= 3 * PositionHistory.CAPACITY / 2; ply++) {
+            history.push(ply % 4, false);
+        }
+
+        // Assert - every fourth ply back within the last CAPACITY - 1 entries
+        assertEquals((PositionHistory.CAPACITY - 1) / 4, history.countRepetitions());
+    }
+
+    private void play(BoardService boardService, String... moves) {
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        for (String move : moves) {
+            int from = parseSquare(move.substring(0, 2));
+            int to = parseSquare(move.substring(2, 4));
+            boardService.makeMove(squares[squareY(from)][squareX(from)].getOccupyingPiece(),
+                    squares[squareY(to)][squareX(to)]);
+            boardService.setWhiteTurn(!boardService.isWhiteTurn());
+        }
+    }
+}
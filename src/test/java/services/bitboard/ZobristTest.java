@@ -0,0 +1,139 @@
+package services.bitboard;
+
+import model.board.BitboardBoard;
+import model.board.Board;
+import org.junit.jupiter.api.Test;
+import services.board.BoardService;
+import services.board.BoardServiceImpl;
+import services.board.SquareInterface;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class ZobristTest {
+
+    @Test
+    void shouldMatchFullRecomputationAfterMovesAndCaptures() {
+        for (BoardService boardService : new BoardService[]{
+                new BoardServiceImpl(new Board()), new BoardServiceImpl(new BitboardBoard())}) {
+            // Arrange
+            SquareInterface[][] squares = boardService.getBoardSquareArray();
+            long initial = boardService.getZobristHash();
+
+            // Act - 1.e4 d5 2.exd5
+            play(boardService, "e2e4", "d7d5", "e4d5");
+
+            // Assert
+            assertNotEquals(initial, boardService.getZobristHash());
+            assertEquals(Zobrist.compute(squares) ^ Zobrist.sideToMoveKey(), boardService.getZobristHash());
+            boardService.getBitboardPosition().ifPresent(position ->
+                    assertEquals(Zobrist.compute(position), position.getZobristKey()));
+        }
+    }
+
+    @Test
+    void shouldRestoreKeyOnUnmakeMove() {
+        // Arrange
+        BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+        play(boardService, "e2e4", "d7d5");
+        long before = boardService.getZobristHash();
+        long positionBefore = boardService.getBitboardPosition().orElseThrow().getZobristKey();
+
+        // Act
+        play(boardService, "e4d5");
+        boardService.unmakeMove();
+        boardService.setWhiteTurn(true);
+
+        // Assert
+        assertEquals(before, boardService.getZobristHash());
+        assertEquals(positionBefore, boardService.getBitboardPosition().orElseThrow().getZobristKey());
+    }
+
+    @Test
+    void shouldGiveTranspositionsTheSameKey() {
+        // Arrange
+        BoardService first = new BoardServiceImpl(new Board());
+        BoardService second = new BoardServiceImpl(new Board());
+
+        // Act
+        play(first, "g1f3", "g8f6", "b1c3");
+        play(second, "b1c3", "g8f6", "g1f3");
+
+        // Assert
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+    }
+
+    @Test
+    void shouldKeepPositionKeyInSyncOverRandomGames() {
+        // Arrange
+        Random random = new Random(11);
+        MoveBuffer moves = new MoveBuffer();
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load(Fen.STARTING_POSITION, position);
+
+        for (int ply = 0; ply < 200; ply++) {
+            moves.clear();
+            LegalMoveGenerator.generateLegalMoves(position, side, moves);
+            if (moves.isEmpty()) {
+                break;
+            }
+
+            // Act
+            int move = moves.get(random.nextInt(moves.size()));
+            long before = position.getZobristKey();
+            position.makeMove(move);
+            long expected = before ^ Zobrist.pieceKey(Moves.piece(move), Moves.from(move))
+                    ^ Zobrist.pieceKey(Moves.piece(move), Moves.to(move));
+            if (Moves.isCapture(move)) {
+                expected ^= Zobrist.pieceKey(Moves.captured(move), Moves.to(move));
+            }
+
+            // Assert
+            assertEquals(expected, position.getZobristKey());
+            assertEquals(Zobrist.compute(position), position.getZobristKey());
+            side = opponent(side);
+        }
+    }
+
+    @Test
+    void shouldChangePawnKeyOnlyWhenPawnsMoveOrAreCaptured() {
+        // Arrange
+        Random random = new Random(5);
+        MoveBuffer moves = new MoveBuffer();
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load(Fen.STARTING_POSITION, position);
+
+        for (int ply = 0; ply < 200; ply++) {
+            moves.clear();
+            LegalMoveGenerator.generateLegalMoves(position, side, moves);
+            if (moves.isEmpty()) {
+                break;
+            }
+
+            // Act
+            int move = moves.get(random.nextInt(moves.size()));
+            long before = position.getPawnKey();
+            position.makeMove(move);
+
+            // Assert
+            boolean touchesPawn = codeType(Moves.piece(move)) == PAWN
+                    || (Moves.isCapture(move) && codeType(Moves.captured(move)) == PAWN);
+            assertEquals(touchesPawn, before != position.getPawnKey());
+            assertEquals(Zobrist.computePawnKey(position), position.getPawnKey());
+            side = opponent(side);
+        }
+    }
+
+    private void play(BoardService boardService, String... moves) {
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        for (String move : moves) {
+            int from = parseSquare(move.substring(0, 2));
+            int to = parseSquare(move.substring(2, 4));
+            boardService.makeMove(squares[squareY(from)][squareX(from)].getOccupyingPiece(),
+                    squares[squareY(to)][squareX(to)]);
+            boardService.setWhiteTurn(!boardService.isWhiteTurn());
+        }
+    }
+}
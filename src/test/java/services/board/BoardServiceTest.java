@@ -1,11 +1,14 @@
 package services.board;
 
+import model.board.BitboardBoard;
+import model.board.Board;
 import model.board.Square;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import services.bitboard.BitboardPosition;
 import services.enums.PieceColor;
 import services.strategy.common.PieceInterface;
 
@@ -175,4 +178,74 @@ public class BoardServiceTest {
         // Assert
         assertTrue(boardService.isWhiteTurn());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUnmakeMoveRestoresCapturedPieceAndWasMoved() {
+        // Arrange
+        BoardService realBoardService = new BoardServiceImpl(new Board());
+        SquareInterface[][] squares = realBoardService.getBoardSquareArray();
+        PieceInterface whitePawn = squares[6][4].getOccupyingPiece();
+        PieceInterface blackPawn = squares[1][3].getOccupyingPiece();
+        realBoardService.makeMove(whitePawn, squares[4][4]);
+        realBoardService.makeMove(blackPawn, squares[3][3]);
+
+        // Act
+        boolean captured = realBoardService.makeMove(whitePawn, squares[3][3]);
+        realBoardService.unmakeMove();
+
+        // Assert
+        assertTrue(captured);
+        assertSame(whitePawn, squares[4][4].getOccupyingPiece());
+        assertSame(blackPawn, squares[3][3].getOccupyingPiece());
+        assertSame(squares[3][3], blackPawn.getCurrentSquare());
+        assertTrue(realBoardService.getBlackPieces().contains(blackPawn));
+        assertEquals(16, realBoardService.getBlackPieces().size());
+
+        // Act
+        realBoardService.unmakeMove();
+        realBoardService.unmakeMove();
+
+        // Assert
+        assertSame(whitePawn, squares[6][4].getOccupyingPiece());
+        assertFalse(squares[4][4].isOccupied());
+        assertFalse(whitePawn.isWasMoved());
+        assertFalse(blackPawn.isWasMoved());
+    }
+
+    @Test
+    void testMakeMoveRejectsFriendlyTarget() {
+        // Arrange
+        BoardService realBoardService = new BoardServiceImpl(new Board());
+        SquareInterface[][] squares = realBoardService.getBoardSquareArray();
+
+        // Act
+        boolean moved = realBoardService.makeMove(squares[7][0].getOccupyingPiece(), squares[6][0]);
+
+        // Assert
+        assertFalse(moved);
+        assertThrows(IllegalStateException.class, realBoardService::unmakeMove);
+    }
+
+    @Test
+    void testUnmakeMoveKeepsBitboardsInSync() {
+        // Arrange
+        BoardService realBoardService = new BoardServiceImpl(new BitboardBoard());
+        SquareInterface[][] squares = realBoardService.getBoardSquareArray();
+        BitboardPosition position = realBoardService.getBitboardPosition().orElseThrow();
+        BitboardPosition before = position.copy();
+
+        // Act
+        realBoardService.makeMove(squares[7][1].getOccupyingPiece(), squares[5][2]);
+        realBoardService.makeMove(squares[5][2].getOccupyingPiece(), squares[3][3]);
+        realBoardService.makeMove(squares[3][3].getOccupyingPiece(), squares[1][2]);
+        realBoardService.unmakeMove();
+        realBoardService.unmakeMove();
+        realBoardService.unmakeMove();
+
+        // Assert
+        for (int square = 0; square < 64; square++) {
+            assertEquals(before.getPieceAt(square), position.getPieceAt(square));
+        }
+        assertEquals(before.getOccupancy(), position.getOccupancy());
+    }
+}
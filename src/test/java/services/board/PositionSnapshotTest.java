@@ -0,0 +1,115 @@
+package services.board;
+
+import model.board.BitboardBoard;
+import model.board.Board;
+import org.junit.jupiter.api.Test;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.engine.SearchEngineImpl;
+import services.engine.SearchLimits;
+import services.engine.SearchResult;
+import services.engine.TranspositionTable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class PositionSnapshotTest {
+
+    @Test
+    void shouldPackEveryPieceIntoFourLongs() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        Fen.load("4k3/8/8/3q4/8/2N5/PP6/4K2R b - - 0 1", position);
+
+        // Act
+        PositionSnapshot snapshot = PositionSnapshot.of(position, false, 7);
+
+        // Assert
+        for (int square = 0; square < 64; square++) {
+            assertEquals(position.getPieceAt(square), snapshot.getPieceAt(square), "square " + square);
+        }
+        assertEquals("4k3/8/8/3q4/8/2N5/PP6/4K2R b - - 0 1", snapshot.toFen());
+        assertEquals(position.getZobristKey(), snapshot.getZobristKey());
+        assertEquals(position.getZobristKey(), snapshot.toPosition().getZobristKey());
+        assertEquals(7, snapshot.getPlies());
+    }
+
+    @Test
+    void shouldPublishOnEveryTurnChangeOnBothBoards() {
+        for (BoardService boardService : new BoardService[]{
+                new BoardServiceImpl(new BitboardBoard()), new BoardServiceImpl(new Board())}) {
+            // Arrange
+            PositionSnapshot start = boardService.getSnapshot();
+            SquareInterface[][] squares = boardService.getBoardSquareArray();
+
+            // Act - 1.e4, with a probing move made and taken back in between
+            boardService.makeMove(squares[6][4].getOccupyingPiece(), squares[4][4]);
+            boardService.makeMove(squares[1][3].getOccupyingPiece(), squares[3][3]);
+            boardService.unmakeMove();
+            PositionSnapshot beforeTurnChange = boardService.getSnapshot();
+            boardService.setWhiteTurn(false);
+
+            // Assert
+            assertSame(start, beforeTurnChange);
+            assertEquals(Fen.STARTING_POSITION, start.toFen());
+            assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b - - 0 1", boardService.getSnapshot().toFen());
+            assertEquals(1, boardService.getSnapshot().getPlies());
+        }
+    }
+
+    @Test
+    void shouldGiveReadersOnlyCompletePositions() throws InterruptedException {
+        // Arrange
+        BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+        SquareInterface[][] squares = boardService.getBoardSquareArray();
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (done.getCount() > 0) {
+                PositionSnapshot snapshot = boardService.getSnapshot();
+                BitboardPosition position = snapshot.toPosition();
+                if (position.getZobristKey() != snapshot.getZobristKey()
+                        || Long.bitCount(position.getOccupancy()) != 32) {
+                    failure.set("Inconsistent snapshot " + snapshot);
+                }
+            }
+        });
+        reader.start();
+
+        // Act - knights out and back, many times over
+        String[] moves = {"g1f3", "g8f6", "f3g1", "f6g8"};
+        for (int i = 0; i < 2_000; i++) {
+            String move = moves[i % moves.length];
+            int from = parseSquare(move.substring(0, 2));
+            int to = parseSquare(move.substring(2, 4));
+            boardService.makeMove(squares[squareY(from)][squareX(from)].getOccupyingPiece(), squares[squareY(to)][squareX(to)]);
+            boardService.setWhiteTurn(!boardService.isWhiteTurn());
+        }
+        done.countDown();
+        reader.join();
+
+        // Assert
+        assertNull(failure.get());
+        assertEquals(2_000, boardService.getSnapshot().getPlies());
+    }
+
+    @Test
+    void shouldAnalyseSnapshotWithoutTouchingTheGame() {
+        // Arrange
+        BoardService boardService = new BoardServiceImpl(new BitboardBoard());
+        PositionSnapshot snapshot = boardService.getSnapshot();
+        long keyBefore = boardService.getZobristHash();
+
+        // Act
+        SearchResult result = new SearchEngineImpl(TranspositionTable.ofMegabytes(1, false))
+                .search(snapshot, SearchLimits.depth(3));
+
+        // Assert
+        assertTrue(result.hasMove());
+        assertEquals(keyBefore, boardService.getZobristHash());
+        assertSame(snapshot, boardService.getSnapshot());
+    }
+}
@@ -0,0 +1,208 @@
+package services.book;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.Moves;
+import services.engine.SearchEngineImpl;
+import services.engine.SearchLimits;
+import services.engine.SearchResult;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class PolyglotBookTest {
+
+    @TempDir
+    Path directory;
+
+    private long[] random64;
+    private PolyglotKeys keys;
+    private BitboardPosition start;
+    private long startKey;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        random64 = new long[PolyglotKeys.RANDOM_COUNT];
+        for (int i = 0; i < random64.length; i++) {
+            random64[i] = random.nextLong();
+        }
+        keys = new PolyglotKeys(random64);
+
+        start = new BitboardPosition();
+        Fen.load(Fen.STARTING_POSITION, start);
+        startKey = keys.key(start, WHITE);
+    }
+
+    @Test
+    void shouldNumberPiecesAndSquaresAsPolyglotDoes() {
+        // Act & Assert
+        assertEquals(0, PolyglotKeys.pieceOffset(pieceCode(BLACK, PAWN), parseSquare("a1")));
+        assertEquals(64, PolyglotKeys.pieceOffset(pieceCode(WHITE, PAWN), parseSquare("a1")));
+        assertEquals(64 * 2 + 8 * 7 + 1, PolyglotKeys.pieceOffset(pieceCode(BLACK, KNIGHT), parseSquare("b8")));
+        assertEquals(767, PolyglotKeys.pieceOffset(pieceCode(WHITE, KING), parseSquare("h8")));
+    }
+
+    @Test
+    void shouldMatchPublishedKeysWithStandardTable() {
+        // Arrange
+        PolyglotKeys standard = PolyglotKeys.standard();
+        BitboardPosition afterE4 = new BitboardPosition();
+        int afterE4Side = Fen.load("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b - - 0 1", afterE4);
+        BitboardPosition afterE4D5E5 = new BitboardPosition();
+        int afterE4D5E5Side = Fen.load("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b - - 0 2", afterE4D5E5);
+        // 1. e4 d5 2. e5 f5 3. Ke2: white has lost both castling rights
+        BitboardPosition afterKe2 = new BitboardPosition();
+        int afterKe2Side = Fen.load("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b - - 0 3", afterKe2);
+        // 1. a4 b5 2. h4 b4 3. c4 bxc3 4. Ra3: white keeps only the short castling right
+        BitboardPosition afterRa3 = new BitboardPosition();
+        int afterRa3Side = Fen.load("rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b - - 0 4", afterRa3);
+
+        // Act & Assert
+        assertEquals(0x463b96181691fc9cL, standard.key(start, WHITE));
+        assertEquals(0x823c9b50fd114196L, standard.key(afterE4, afterE4Side));
+        assertEquals(0x662fafb965db29d4L, standard.key(afterE4D5E5, afterE4D5E5Side));
+        assertEquals(0x652a607ca3f242c1L, standard.key(afterKe2, afterKe2Side));
+        assertEquals(0x5c3f9b829b279560L, standard.key(afterRa3, afterRa3Side));
+    }
+
+    @Test
+    void shouldDropCastlingRightWhenRookLeavesItsSquare() {
+        // Arrange
+        BitboardPosition withoutRook = start.copy();
+        withoutRook.removePiece(parseSquare("h1"));
+
+        // Act
+        long difference = startKey ^ keys.key(withoutRook, WHITE);
+
+        // Assert
+        int rookOffset = PolyglotKeys.pieceOffset(pieceCode(WHITE, ROOK), parseSquare("h1"));
+        assertEquals(random64[rookOffset] ^ random64[768], difference);
+        assertEquals(random64[780], startKey ^ keys.key(start, BLACK));
+    }
+
+    @Test
+    void shouldPickMovesInProportionToTheirWeights() throws IOException {
+        // Arrange
+        PolyglotBook book = writeBook(
+                entry(startKey - 1, "g1f3", 50),
+                entry(startKey, "e2e4", 3),
+                entry(startKey, "d2d4", 1),
+                entry(startKey + 1, "c2c4", 50));
+        Random random = new Random(1);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < 4000; i++) {
+            counts.merge(Moves.toNotation(book.probe(start, WHITE, random)), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(2, counts.size());
+        assertEquals(3.0, (double) counts.get("e2e4") / counts.get("d2d4"), 0.3);
+    }
+
+    @Test
+    void shouldSkipMovesThisGameDoesNotHave() throws IOException {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        Fen.load("r3k2r/pppppppp/8/8/8/8/PPPPPPPP/R3K2R w - - 0 1", position);
+        long key = keys.key(position, WHITE);
+        PolyglotBook book = writeBook(
+                entry(key, "e1h1", 100),
+                entry(key, "a2a3", 1));
+
+        // Act
+        int move = book.probe(position, WHITE, new Random(1));
+
+        // Assert
+        assertEquals("a2a3", Moves.toNotation(move));
+    }
+
+    @Test
+    void shouldReturnNoMoveOutsideTheBook() throws IOException {
+        // Arrange
+        PolyglotBook book = writeBook(entry(startKey, "e2e4", 1));
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1", position);
+
+        // Act
+        int move = book.probe(position, side, new Random(1));
+
+        // Assert
+        assertEquals(Moves.NONE, move);
+        assertEquals(1, book.size());
+    }
+
+    @Test
+    void shouldFindFirstEntryOfEveryKeyWithUnsignedOrder() throws IOException {
+        // Arrange
+        long[] sortedKeys = {1L, 5L, 5L, 5L, 0x7FFF_FFFF_FFFF_FFFFL, 0x8000_0000_0000_0000L, -1L};
+        byte[][] entries = new byte[sortedKeys.length][];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            entries[i] = entry(sortedKeys[i], "e2e4", 1);
+        }
+        PolyglotBook book = writeBook(entries);
+
+        // Act & Assert
+        assertEquals(0, book.lowerBound(0L));
+        assertEquals(1, book.lowerBound(5L));
+        assertEquals(4, book.lowerBound(6L));
+        assertEquals(5, book.lowerBound(0x8000_0000_0000_0000L));
+        assertEquals(6, book.lowerBound(-1L));
+    }
+
+    @Test
+    void shouldAnswerFromBookBeforeSearching() throws IOException {
+        // Arrange
+        PolyglotBook book = writeBook(entry(startKey, "e2e4", 1));
+        BookSearchEngine engine = new BookSearchEngine(new SearchEngineImpl(), book, new Random(1));
+        BitboardPosition afterBook = start.copy();
+        afterBook.makeMove(book.probe(start, WHITE, new Random(1)));
+
+        // Act
+        SearchResult inBook = engine.search(start, WHITE, SearchLimits.depth(3));
+        SearchResult outOfBook = engine.search(afterBook, BLACK, SearchLimits.depth(3));
+
+        // Assert
+        assertEquals("e2e4", Moves.toNotation(inBook.getBestMove()));
+        assertEquals(0, inBook.getDepth());
+        assertEquals(3, outOfBook.getDepth());
+        assertTrue(outOfBook.hasMove());
+    }
+
+    private PolyglotBook writeBook(byte[]... entries) throws IOException {
+        Path path = directory.resolve("book.bin");
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(path))) {
+            for (byte[] entry : entries) {
+                output.write(entry);
+            }
+        }
+        return PolyglotBook.open(path, keys);
+    }
+
+    private static byte[] entry(long key, String move, int weight) {
+        int from = parseSquare(move.substring(0, 2));
+        int to = parseSquare(move.substring(2, 4));
+        int bookMove = (7 - squareY(from)) << 9 | squareX(from) << 6 | (7 - squareY(to)) << 3 | squareX(to);
+
+        return ByteBuffer.allocate(PolyglotBook.ENTRY_BYTES)
+                .putLong(key)
+                .putShort((short) bookMove)
+                .putShort((short) weight)
+                .putInt(0)
+                .array();
+    }
+}
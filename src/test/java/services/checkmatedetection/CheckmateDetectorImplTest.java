@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import services.bitboard.PositionHistory;
 import services.board.BoardService;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
@@ -71,9 +72,7 @@ public class CheckmateDetectorImplTest {
     void testIsInCheck_WhiteKingInCheck() {
         // Arrange
         when(boardService.getWhiteKing()).thenReturn(Optional.of(whiteKing));
-        when(whiteKingSquare.getOccupyingPiece()).thenReturn(whiteKing);
-        when(boardService.getBlackPieces()).thenReturn(List.of(blackBishop));
-        when(blackBishop.getLegalMoves(any(SquareInterface[][].class))).thenReturn(List.of(whiteKingSquare));
+        when(boardService.isSquareAttacked(whiteKingSquare, PieceColor.BLACK)).thenReturn(true);
 
         // Act
         boolean result = checkmateDetector.isInCheck(boardService, PieceColor.WHITE);
@@ -86,8 +85,7 @@ public class CheckmateDetectorImplTest {
     void testIsInCheck_BlackKingNotInCheck() {
         // Arrange
         when(boardService.getBlackKing()).thenReturn(Optional.of(blackKing));
-        when(boardService.getWhitePieces()).thenReturn(List.of(whiteRook));
-        when(whiteRook.getLegalMoves(any(SquareInterface[][].class))).thenReturn(List.of(rookSquare));
+        when(boardService.isSquareAttacked(blackKingSquare, PieceColor.WHITE)).thenReturn(false);
 
         // Act
         boolean result = checkmateDetector.isInCheck(boardService, PieceColor.BLACK);
@@ -100,8 +98,7 @@ public class CheckmateDetectorImplTest {
     void testIsInCheckmate_WhiteKingInCheckmate() {
         // Arrange
         when(boardService.getWhiteKing()).thenReturn(Optional.of(whiteKing));
-        when(boardService.getBlackPieces()).thenReturn(List.of(blackBishop));
-        when(blackBishop.getLegalMoves(any(SquareInterface[][].class))).thenReturn(List.of(whiteKingSquare));
+        when(boardService.isSquareAttacked(whiteKingSquare, PieceColor.BLACK)).thenReturn(true);
         when(boardService.getWhitePieces()).thenReturn(List.of(whiteKing));
         when(whiteKing.getLegalMoves(any(SquareInterface[][].class))).thenReturn(new ArrayList<>());
 
@@ -116,9 +113,7 @@ public class CheckmateDetectorImplTest {
     void testIsInCheckmate_BlackKingNotInCheckmate() {
         // Arrange
         when(boardService.getBlackKing()).thenReturn(Optional.of(blackKing));
-        when(blackKing.getCurrentSquare()).thenReturn(blackKingSquare);
-        when(boardService.getWhitePieces()).thenReturn(List.of(whiteRook));
-        when(whiteRook.getLegalMoves(any(SquareInterface[][].class))).thenReturn(List.of(rookSquare));
+        when(boardService.isSquareAttacked(blackKingSquare, PieceColor.WHITE)).thenReturn(false);
         when(boardService.getBlackPieces()).thenReturn(List.of(blackKing));
         when(blackKing.getLegalMoves(any(SquareInterface[][].class))).thenReturn(List.of(bishopSquare));
 
@@ -133,8 +128,7 @@ public class CheckmateDetectorImplTest {
     void testIsInStalemate_WhiteKingInStalemate() {
         // Arrange
         when(boardService.getWhiteKing()).thenReturn(Optional.of(whiteKing));
-        when(boardService.getBlackPieces()).thenReturn(List.of(blackBishop));
-        when(blackBishop.getLegalMoves(any(SquareInterface[][].class))).thenReturn(List.of(bishopSquare));
+        when(boardService.isSquareAttacked(whiteKingSquare, PieceColor.BLACK)).thenReturn(false);
         when(boardService.getWhitePieces()).thenReturn(List.of(whiteKing));
         when(whiteKing.getLegalMoves(any(SquareInterface[][].class))).thenReturn(new ArrayList<>());
 
@@ -149,9 +143,7 @@ public class CheckmateDetectorImplTest {
     void testIsInStalemate_BlackKingNotInStalemate() {
         // Arrange
         when(boardService.getBlackKing()).thenReturn(Optional.of(blackKing));
-        when(blackKing.getCurrentSquare()).thenReturn(blackKingSquare);
-        when(boardService.getWhitePieces()).thenReturn(List.of(whiteRook));
-        when(whiteRook.getLegalMoves(any(SquareInterface[][].class))).thenReturn(List.of(rookSquare));
+        when(boardService.isSquareAttacked(blackKingSquare, PieceColor.WHITE)).thenReturn(false);
         when(boardService.getBlackPieces()).thenReturn(List.of(blackKing));
         when(blackKing.getLegalMoves(any(SquareInterface[][].class))).thenReturn(List.of(bishopSquare));
 
@@ -162,6 +154,24 @@ public class CheckmateDetectorImplTest {
         assertFalse(result);
     }
 
+    @Test
+    void testIsThreefoldRepetition_ReadsPositionHistory() {
+        // Arrange
+        PositionHistory history = new PositionHistory(1L);
+        for (long key : new long[]{2L, 3L, 4L, 1L, 2L, 3L, 4L, 1L}) {
+            history.push(key, false);
+        }
+        when(boardService.getPositionHistory()).thenReturn(history);
+
+        // Act
+        boolean repetition = checkmateDetector.isThreefoldRepetition(boardService);
+        boolean fiftyMoves = checkmateDetector.isFiftyMoveDraw(boardService);
+
+        // Assert
+        assertTrue(repetition);
+        assertFalse(fiftyMoves);
+    }
+
     // Additional test cases for hasLegalMoveWithoutCheck() and checkHelper() methods
 
     // ...
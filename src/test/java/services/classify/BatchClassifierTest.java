@@ -0,0 +1,119 @@
+package services.classify;
+
+import org.junit.jupiter.api.Test;
+import services.bitboard.Fen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchClassifierTest {
+    private static final String FOOLS_MATE = "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w - - 0 3";
+    private static final String ROOK_CHECK = "4k3/8/8/8/8/8/8/4R1K1 b - - 0 1";
+    private static final String STALEMATE = "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1";
+
+    @Test
+    void shouldClassifySinglePositions() {
+        // Arrange
+        PositionClassifier classifier = new PositionClassifier();
+
+        // Act & Assert
+        assertEquals(PositionClass.NORMAL, classifier.classify(Fen.STARTING_POSITION));
+        assertEquals(20, classifier.getLegalMoves());
+        assertEquals(PositionClass.CHECKMATE, classifier.classify(FOOLS_MATE));
+        assertEquals(0, classifier.getLegalMoves());
+        assertEquals(PositionClass.CHECK, classifier.classify(ROOK_CHECK));
+        assertEquals(4, classifier.getLegalMoves());
+        assertEquals(PositionClass.STALEMATE, classifier.classify(STALEMATE));
+        assertEquals(PositionClass.INVALID, classifier.classify("not a position"));
+    }
+
+    @Test
+    void shouldRejectPositionsThatCannotOccur() {
+        // Arrange
+        PositionClassifier classifier = new PositionClassifier();
+
+        // Act & Assert
+        assertEquals(PositionClass.INVALID, classifier.classify("8/8/8/8/8/8/8/8 w - - 0 1"));
+        assertEquals(PositionClass.INVALID, classifier.classify("8/8/8/3q4/8/8/8/4K3 w - - 0 1"));
+        assertEquals(PositionClass.INVALID, classifier.classify("kkkkkkkk/8/8/8/8/8/8/KKKKKKKK w - - 0 1"));
+        // White to move while black's king stands in check
+        assertEquals(PositionClass.INVALID, classifier.classify("4k3/4R3/8/8/8/8/8/4K3 w - - 0 1"));
+        assertEquals(0, classifier.getLegalMoves());
+        assertEquals(PositionClass.INVALID, classifier.classify("4k3/8/8/8/8/8/8/4K3 x - - 0 1"));
+        assertEquals(PositionClass.INVALID, classifier.classify("4k3/8/8/8/8/8/8/4K3"));
+        assertEquals(PositionClass.NORMAL, classifier.classify("4k3/8/8/8/8/8/8/4K3 b - - 0 1"));
+    }
+
+    @Test
+    void shouldReadEpdOperationsAsPlainFen() {
+        // Arrange
+        PositionClassifier classifier = new PositionClassifier();
+
+        // Act
+        PositionClass positionClass = classifier.classify(
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - bm e4; id \"start\";");
+
+        // Assert
+        assertEquals(PositionClass.NORMAL, positionClass);
+        assertEquals(20, classifier.getLegalMoves());
+    }
+
+    @Test
+    void shouldWriteResultsInInputOrderAcrossManyBatches() throws IOException {
+        // Arrange - small batches and few in flight, so the pipeline has to wait and reorder
+        String[] positions = {Fen.STARTING_POSITION, FOOLS_MATE, ROOK_CHECK, STALEMATE, "8/8/8"};
+        StringBuilder input = new StringBuilder();
+        int lines = 5_000;
+        for (int i = 0; i < lines; i++) {
+            input.append(positions[i % positions.length]).append(i % 7 == 0 ? "\r\n" : "\n");
+            if (i % 1000 == 0) {
+                input.append('\n');
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BatchClassifier classifier = new BatchClassifier(2, 100, 3);
+
+        // Act
+        ClassificationCounts counts = classifier.classify(
+                Channels.newChannel(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII))),
+                Channels.newChannel(output));
+
+        // Assert
+        String[] results = output.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(lines, results.length);
+        String[] expectedPrefixes = {"normal\t20\t", "checkmate\t0\t", "check\t4\t", "stalemate\t0\t", "invalid\t0\t"};
+        for (int i = 0; i < lines; i++) {
+            assertEquals(expectedPrefixes[i % positions.length] + positions[i % positions.length], results[i],
+                    "line " + i);
+        }
+        assertEquals(lines, counts.getTotal());
+        assertEquals(lines / positions.length, counts.getCount(PositionClass.CHECKMATE));
+        assertEquals(lines / positions.length, counts.getCount(PositionClass.INVALID));
+    }
+
+    @Test
+    void shouldHandleEmptyInputAndMissingFinalNewline() throws IOException {
+        // Arrange
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        ByteArrayOutputStream single = new ByteArrayOutputStream();
+        BatchClassifier classifier = new BatchClassifier(1);
+
+        // Act
+        ClassificationCounts emptyCounts = classifier.classify(
+                Channels.newChannel(new ByteArrayInputStream(new byte[0])), Channels.newChannel(empty));
+        ClassificationCounts singleCounts = classifier.classify(
+                Channels.newChannel(new ByteArrayInputStream(STALEMATE.getBytes(StandardCharsets.US_ASCII))),
+                Channels.newChannel(single));
+
+        // Assert
+        assertEquals(0, emptyCounts.getTotal());
+        assertEquals(0, empty.size());
+        assertEquals(1, singleCounts.getCount(PositionClass.STALEMATE));
+        assertEquals("stalemate\t0\t" + STALEMATE + "\n", single.toString(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,104 @@
+package services.engine;
+
+import org.junit.jupiter.api.Test;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.PieceSquareTables;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class EvaluationTest {
+
+    @Test
+    void shouldScoreStartingPositionAsEqual() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        Fen.load(Fen.STARTING_POSITION, position);
+
+        // Assert
+        assertEquals(PieceSquareTables.MAX_PHASE, position.getPhase());
+        assertEquals(0, Evaluation.evaluate(position, WHITE));
+        assertEquals(0, Evaluation.evaluate(position, BLACK));
+    }
+
+    @Test
+    void shouldKeepRunningTotalsEqualToFullScanOverRandomGames() {
+        // Arrange
+        Random random = new Random(3);
+        MoveBuffer moves = new MoveBuffer();
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load(Fen.STARTING_POSITION, position);
+
+        for (int ply = 0; ply < 300; ply++) {
+            moves.clear();
+            LegalMoveGenerator.generateLegalMoves(position, side, moves);
+            if (moves.isEmpty()) {
+                break;
+            }
+
+            // Act
+            int move = moves.get(random.nextInt(moves.size()));
+            position.makeMove(move);
+            if (ply % 7 == 0) {
+                position.unmakeMove(move);
+                assertTotalsMatchScan(position);
+                position.makeMove(move);
+            }
+
+            // Assert
+            assertTotalsMatchScan(position);
+            side = opponent(side);
+        }
+    }
+
+    @Test
+    void shouldScoreMirroredPositionsTheSameForTheMirroredSide() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        Fen.load("r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w - - 0 1", position);
+        BitboardPosition mirrored = new BitboardPosition();
+        Fen.load("rnbqk2r/pppp1ppp/5n2/2b1p3/4P3/2N2N2/PPPP1PPP/R1BQKB1R b - - 0 1", mirrored);
+
+        // Assert
+        assertEquals(Evaluation.evaluate(position, WHITE), Evaluation.evaluate(mirrored, BLACK));
+    }
+
+    @Test
+    void shouldPreferCentralKingAndAdvancedPawnInEndgame() {
+        // Arrange
+        BitboardPosition centralKing = new BitboardPosition();
+        Fen.load("4k3/8/8/8/4K3/8/4P3/8 w - - 0 1", centralKing);
+        BitboardPosition cornerKing = new BitboardPosition();
+        Fen.load("4k3/8/8/8/8/8/4P3/K7 w - - 0 1", cornerKing);
+        BitboardPosition advancedPawn = new BitboardPosition();
+        Fen.load("4k3/8/4P3/8/4K3/8/8/8 w - - 0 1", advancedPawn);
+
+        // Assert
+        assertEquals(0, centralKing.getPhase());
+        assertTrue(Evaluation.evaluate(centralKing, WHITE) > Evaluation.evaluate(cornerKing, WHITE));
+        assertTrue(Evaluation.evaluate(advancedPawn, WHITE) > Evaluation.evaluate(centralKing, WHITE));
+    }
+
+    private void assertTotalsMatchScan(BitboardPosition position) {
+        int middlegame = 0;
+        int endgame = 0;
+        int phase = 0;
+        for (int square = 0; square < 64; square++) {
+            int pieceCode = position.getPieceAt(square);
+            if (pieceCode != NO_PIECE) {
+                middlegame += PieceSquareTables.middlegame(pieceCode, square);
+                endgame += PieceSquareTables.endgame(pieceCode, square);
+                phase += PieceSquareTables.phaseWeight(pieceCode);
+            }
+        }
+
+        assertEquals(middlegame, position.getMiddlegameScore());
+        assertEquals(endgame, position.getEndgameScore());
+        assertEquals(phase, position.getPhase());
+    }
+}
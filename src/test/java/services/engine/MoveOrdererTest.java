@@ -0,0 +1,67 @@
+package services.engine;
+
+import org.junit.jupiter.api.Test;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveOrdererTest {
+
+    @Test
+    void shouldOrderTableMoveCapturesKillersThenHistory() {
+        // Arrange - the white knight on d4 and pawn on c4 can both take the rook on b5 or the pawn on e6
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/4p3/1r6/2PN4/8/8/4K3 w - - 0 1", position);
+        MoveBuffer moves = new MoveBuffer();
+        LegalMoveGenerator.generateLegalMoves(position, side, moves);
+
+        int tableMove = find(moves, "e1f1");
+        int killer = find(moves, "e1d2");
+        int historyMove = find(moves, "d4f3");
+        MoveOrderer orderer = new MoveOrderer();
+        orderer.recordCutoff(killer, 3, 1);
+        orderer.recordCutoff(historyMove, 5, 6);
+
+        // Act
+        orderer.scoreMoves(moves, 3, tableMove);
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            order.add(Moves.toNotation(orderer.next(moves, 3, i)));
+        }
+
+        // Assert
+        assertEquals(List.of("e1f1", "c4b5", "d4b5", "d4e6", "e1d2", "d4f3"), order.subList(0, 6));
+        assertEquals(moves.size(), order.stream().distinct().count());
+    }
+
+    @Test
+    void shouldReportFirstMoveCutoffRate() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w - - 0 1", position);
+
+        // Act
+        SearchResult result = new SearchEngineImpl().search(position, side, SearchLimits.depth(5));
+
+        // Assert
+        assertTrue(result.getBetaCutoffs() > 0);
+        assertTrue(result.getFirstMoveCutoffRate() > 0.8,
+                "First-move cutoff rate " + result.getFirstMoveCutoffRate());
+    }
+
+    private int find(MoveBuffer moves, String notation) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (Moves.toNotation(moves.get(i)).equals(notation)) {
+                return moves.get(i);
+            }
+        }
+        throw new AssertionError("No move " + notation);
+    }
+}
@@ -0,0 +1,131 @@
+package services.engine;
+
+import org.junit.jupiter.api.Test;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class PawnTableTest {
+
+    @Test
+    void shouldScoreDoubledIsolatedAndPassedPawns() {
+        // Arrange
+        BitboardPosition doubled = new BitboardPosition();
+        Fen.load("4k3/pp6/8/8/8/P7/P7/4K3 w - - 0 1", doubled);
+        BitboardPosition passed = new BitboardPosition();
+        Fen.load("4k3/8/1P6/8/8/8/8/4K3 w - - 0 1", passed);
+        BitboardPosition blocked = new BitboardPosition();
+        Fen.load("4k3/p7/1P6/8/8/8/8/4K3 w - - 0 1", blocked);
+
+        // Act
+        int doubledScore = PawnStructure.evaluate(doubled);
+        int passedScore = PawnStructure.evaluate(passed);
+        int blockedScore = PawnStructure.evaluate(blocked);
+
+        // Assert
+        // Doubled once and isolated twice; the black pair is connected and stopped by the a-pawns
+        assertEquals(-10 - 2 * 10, PawnStructure.middlegame(doubledScore));
+        assertEquals(-20 - 2 * 15, PawnStructure.endgame(doubledScore));
+        // Isolated but passed on the sixth rank
+        assertEquals(-10 + 45, PawnStructure.middlegame(passedScore));
+        assertEquals(-15 + 75, PawnStructure.endgame(passedScore));
+        // Both isolated, neither passed
+        assertEquals(0, PawnStructure.middlegame(blockedScore));
+        assertEquals(0, PawnStructure.endgame(blockedScore));
+    }
+
+    @Test
+    void shouldScorePassedPawnsOnTheEdgeRanks() {
+        // Arrange
+        BitboardPosition seventh = new BitboardPosition();
+        Fen.load("4k3/P7/8/8/8/8/8/4K3 w - - 0 1", seventh);
+        BitboardPosition last = new BitboardPosition();
+        Fen.load("P3k3/8/8/8/8/8/8/4K3 w - - 0 1", last);
+        BitboardPosition first = new BitboardPosition();
+        Fen.load("4k3/8/8/8/8/8/8/P3K3 w - - 0 1", first);
+        BitboardPosition blackFirst = new BitboardPosition();
+        Fen.load("p3k3/8/8/8/8/8/8/4K3 w - - 0 1", blackFirst);
+
+        // Act
+        int seventhScore = PawnStructure.evaluate(seventh);
+        int lastScore = PawnStructure.evaluate(last);
+        int firstScore = PawnStructure.evaluate(first);
+        int blackFirstScore = PawnStructure.evaluate(blackFirst);
+
+        // Assert
+        // Isolated throughout; only the seventh rank adds the top passed bonus
+        assertEquals(-10 + 70, PawnStructure.middlegame(seventhScore));
+        assertEquals(-15 + 120, PawnStructure.endgame(seventhScore));
+        assertEquals(-10, PawnStructure.middlegame(lastScore));
+        assertEquals(-15, PawnStructure.endgame(lastScore));
+        assertEquals(-10, PawnStructure.middlegame(firstScore));
+        assertEquals(-15, PawnStructure.endgame(firstScore));
+        assertEquals(10, PawnStructure.middlegame(blackFirstScore));
+        assertEquals(15, PawnStructure.endgame(blackFirstScore));
+        assertTrue(Evaluation.evaluate(last, WHITE) < Evaluation.evaluate(seventh, WHITE));
+    }
+
+    @Test
+    void shouldUnpackNegativeValues() {
+        // Act
+        int packed = PawnStructure.pack(-123, -4567);
+
+        // Assert
+        assertEquals(-123, PawnStructure.middlegame(packed));
+        assertEquals(-4567, PawnStructure.endgame(packed));
+    }
+
+    @Test
+    void shouldReturnSameScoresAsDirectEvaluationOverRandomGames() {
+        // Arrange
+        Random random = new Random(13);
+        MoveBuffer moves = new MoveBuffer();
+        PawnTable pawnTable = new PawnTable(64);
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load(Fen.STARTING_POSITION, position);
+
+        for (int ply = 0; ply < 200; ply++) {
+            // Act
+            int cached = Evaluation.evaluate(position, side, pawnTable);
+
+            // Assert
+            assertEquals(Evaluation.evaluate(position, side), cached);
+
+            moves.clear();
+            LegalMoveGenerator.generateLegalMoves(position, side, moves);
+            if (moves.isEmpty()) {
+                break;
+            }
+            position.makeMove(moves.get(random.nextInt(moves.size())));
+            side = opponent(side);
+        }
+        assertTrue(pawnTable.getHits() > 0);
+    }
+
+    @Test
+    void shouldHitMostOfTheTimeDuringMiddlegameSearch() {
+        // Arrange
+        SearchEngineImpl searchEngine = new SearchEngineImpl();
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w - - 0 1", position);
+
+        // Act
+        searchEngine.search(position, side, SearchLimits.depth(6));
+
+        // Assert
+        assertTrue(searchEngine.getPawnTableHitRate() > 0.85,
+                "Pawn table hit rate " + searchEngine.getPawnTableHitRate());
+    }
+
+    @Test
+    void shouldRejectSizeThatIsNotPowerOfTwo() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new PawnTable(1000));
+    }
+}
@@ -0,0 +1,248 @@
+package services.engine;
+
+import model.board.BitboardBoard;
+import model.board.Board;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+import services.bitboard.PositionHistory;
+import services.board.BoardServiceImpl;
+import services.tablebase.Tablebases;
+import services.utils.Clock;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.opponent;
+
+public class SearchEngineImplTest {
+    private SearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new SearchEngineImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchEngine.close();
+    }
+
+    @Test
+    void shouldFindBackRankMate() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", position);
+
+        // Act
+        SearchResult result = searchEngine.search(position, side, SearchLimits.depth(3));
+
+        // Assert
+        assertEquals("a1a8", Moves.toNotation(result.getBestMove()));
+        assertEquals(Evaluation.MATE - 1, result.getScore());
+        assertTrue(result.isMateScore());
+    }
+
+    @Test
+    void shouldWinHangingQueen() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1", position);
+
+        // Act
+        SearchResult result = searchEngine.search(position, side, SearchLimits.depth(2));
+
+        // Assert
+        assertEquals("d2d5", Moves.toNotation(result.getBestMove()));
+        assertTrue(result.getScore() >= 400);
+    }
+
+    @Test
+    void shouldReturnLegalPrincipalVariationAndLeavePositionUntouched() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load(Fen.STARTING_POSITION, position);
+        long keyBefore = position.getZobristKey();
+
+        // Act
+        SearchResult result = searchEngine.search(position, side, SearchLimits.depth(4));
+
+        // Assert
+        assertEquals(4, result.getDepth());
+        assertEquals(4, result.getPrincipalVariation().length);
+        assertEquals(keyBefore, position.getZobristKey());
+
+        BitboardPosition replay = position.copy();
+        MoveBuffer legal = new MoveBuffer();
+        for (int move : result.getPrincipalVariation()) {
+            legal.clear();
+            LegalMoveGenerator.generateLegalMoves(replay, side, legal);
+            assertTrue(legal.contains(move), "Illegal move in principal variation: " + Moves.toNotation(move));
+            replay.makeMove(move);
+            side = opponent(side);
+        }
+    }
+
+    @Test
+    void shouldReportNoMoveWhenMatedOrStalemated() {
+        // Arrange
+        BitboardPosition mated = new BitboardPosition();
+        int matedSide = Fen.load("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1", mated);
+        BitboardPosition stalemated = new BitboardPosition();
+        int stalematedSide = Fen.load("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1", stalemated);
+
+        // Act
+        SearchResult matedResult = searchEngine.search(mated, matedSide, SearchLimits.depth(3));
+        SearchResult stalematedResult = searchEngine.search(stalemated, stalematedSide, SearchLimits.depth(3));
+
+        // Assert
+        assertFalse(matedResult.hasMove());
+        assertEquals(-Evaluation.MATE, matedResult.getScore());
+        assertFalse(stalematedResult.hasMove());
+        assertEquals(Evaluation.DRAW, stalematedResult.getScore());
+    }
+
+    @Test
+    void shouldStopAtDeadline() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w - - 0 1", position);
+        warmUpUntilCompilerIdle(position, side);
+        SearchLimits limits = SearchLimits.of(Searcher.MAX_PLY - 1, 100);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        // Act
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        SearchResult result = searchEngine.search(position, side, limits);
+        long elapsedNanos = System.nanoTime() - start;
+        long offCpuNanos = Math.max(elapsedNanos - (threads.getCurrentThreadCpuTime() - cpuStart), 0L);
+
+        // Assert - time the OS gave the core to other threads or processes is not the search's overshoot
+        long overshootNanos = elapsedNanos - limits.getBudgetNanos() - offCpuNanos;
+        assertTrue(result.hasMove());
+        assertTrue(overshootNanos < 1_000_000L, "Search overran its deadline by " + overshootNanos + " ns"
+                + " while running, plus " + offCpuNanos + " ns off the CPU");
+    }
+
+    @Test
+    void shouldNeverBudgetMoreThanClockHolds() {
+        // Act & Assert
+        assertEquals(TimeManager.MIN_BUDGET_MILLIS, TimeManager.budgetMillis(60));
+        assertEquals(3, TimeManager.budgetMillis(4));
+        assertEquals(0, TimeManager.budgetMillis(1));
+        assertEquals(0, TimeManager.budgetMillis(0));
+    }
+
+    @Test
+    void shouldTakeBudgetFromClock() {
+        // Arrange
+        BoardServiceImpl boardService = new BoardServiceImpl(new BitboardBoard());
+        Clock clock = new Clock(0, 0, 3);
+
+        // Act
+        SearchResult result = searchEngine.search(boardService, clock);
+
+        // Assert
+        assertEquals(98, TimeManager.budgetMillis(clock));
+        assertTrue(result.hasMove());
+        assertTrue(result.getElapsedNanos() <= 108_000_000L);
+    }
+
+    @Test
+    void shouldFindSameTacticsWithHelperThreads() {
+        // Arrange
+        BitboardPosition mate = new BitboardPosition();
+        int mateSide = Fen.load("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", mate);
+        BitboardPosition queen = new BitboardPosition();
+        int queenSide = Fen.load("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1", queen);
+        SearchResult mateResult;
+        SearchResult queenResult;
+        SearchResult timedResult;
+
+        // Act
+        try (SearchEngine parallelEngine = new SearchEngineImpl(TranspositionTable.ofMegabytes(4, false), 4)) {
+            mateResult = parallelEngine.search(mate, mateSide, SearchLimits.depth(4));
+            queenResult = parallelEngine.search(queen, queenSide, SearchLimits.depth(4));
+            timedResult = parallelEngine.search(queen, queenSide, SearchLimits.time(50));
+        }
+
+        // Assert
+        assertEquals("a1a8", Moves.toNotation(mateResult.getBestMove()));
+        assertEquals(Evaluation.MATE - 1, mateResult.getScore());
+        assertEquals("d2d5", Moves.toNotation(queenResult.getBestMove()));
+        assertTrue(queenResult.getDepth() >= 4);
+        assertEquals("d2d5", Moves.toNotation(timedResult.getBestMove()));
+        assertTrue(timedResult.getElapsedNanos() < 100_000_000L);
+    }
+
+    @Test
+    void shouldLetTimedHelperIterateWithoutSoftDeadline() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1", position);
+        Searcher helper = new Searcher(position, TranspositionTable.ofMegabytes(1, false), new PawnTable(),
+                Tablebases.empty(), new PositionHistory(position.getZobristKey()), new AtomicBoolean());
+        helper.setDeadline(System.nanoTime() + 60_000_000_000L);
+
+        // Act
+        helper.iterate(side, 1, 4);
+
+        // Assert
+        assertEquals(4, helper.getCompletedDepth());
+        assertFalse(helper.isStopped());
+    }
+
+    @Test
+    void shouldStopHelperThreadsWhenClosed() {
+        // Arrange
+        SearchEngine parallelEngine = new SearchEngineImpl(TranspositionTable.ofMegabytes(1, false), 2);
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1", position);
+
+        // Act
+        parallelEngine.close();
+
+        // Assert
+        assertThrows(RejectedExecutionException.class,
+                () -> parallelEngine.search(position, side, SearchLimits.depth(2)));
+    }
+
+    @Test
+    void shouldSearchPlainBoardThroughCopiedPosition() {
+        // Arrange
+        BoardServiceImpl gridService = new BoardServiceImpl(new Board());
+        BoardServiceImpl bitboardService = new BoardServiceImpl(new BitboardBoard());
+
+        // Act
+        BitboardPosition gridCopy = gridService.copyPosition();
+        BitboardPosition bitboardCopy = bitboardService.copyPosition();
+
+        // Assert
+        assertEquals(bitboardCopy.getZobristKey(), gridCopy.getZobristKey());
+        assertNotSame(bitboardService.getBitboardPosition().orElseThrow(), bitboardCopy);
+        assertTrue(searchEngine.search(gridService, new Clock(0, 0, 3)).hasMove());
+    }
+
+    // Code still being compiled runs far slower between deadline checks than it will for the rest of a game,
+    // so the timed run waits until searching no longer makes the JIT compile anything
+    private static void warmUpUntilCompilerIdle(BitboardPosition position, int side) {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        long compileMillis = -1L;
+        for (int round = 0; round < 20 && compiler.getTotalCompilationTime() != compileMillis; round++) {
+            compileMillis = compiler.getTotalCompilationTime();
+            try (SearchEngine engine = new SearchEngineImpl(TranspositionTable.ofMegabytes(1, false))) {
+                engine.search(position, side, SearchLimits.depth(5));
+            }
+        }
+    }
+}
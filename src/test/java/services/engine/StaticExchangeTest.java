@@ -0,0 +1,92 @@
+package services.engine;
+
+import org.junit.jupiter.api.Test;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaticExchangeTest {
+
+    private final StaticExchange staticExchange = new StaticExchange();
+
+    @Test
+    void shouldWinKnightForPawnWhenPawnIsRecaptured() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/3p4/4n3/3P4/8/8/4K3 w - - 0 1", position);
+
+        // Act
+        int score = staticExchange.evaluate(position, findMove(position, side, "d4e5"));
+
+        // Assert
+        assertEquals(320 - 100, score);
+    }
+
+    @Test
+    void shouldLoseRookTakingDefendedPawn() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/3p4/4p3/8/8/8/4RK2 w - - 0 1", position);
+
+        // Act
+        int score = staticExchange.evaluate(position, findMove(position, side, "e1e5"));
+
+        // Assert
+        assertEquals(100 - 500, score);
+    }
+
+    @Test
+    void shouldCountRookBehindRookAsAttacker() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4r1k1/8/8/4p3/8/8/4R3/4RK2 w - - 0 1", position);
+
+        // Act
+        int score = staticExchange.evaluate(position, findMove(position, side, "e2e5"));
+
+        // Assert
+        assertEquals(100, score);
+    }
+
+    @Test
+    void shouldWinUndefendedQueen() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1", position);
+
+        // Act
+        int score = staticExchange.evaluate(position, findMove(position, side, "d2d5"));
+
+        // Assert
+        assertEquals(900, score);
+    }
+
+    @Test
+    void shouldNotTakeDefendedPawnWithRookAtHorizon() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/3p4/4p3/8/8/8/4RK2 w - - 0 1", position);
+
+        // Act
+        SearchResult result = new SearchEngineImpl().search(position, side, SearchLimits.depth(1));
+
+        // Assert
+        assertNotEquals("e1e5", Moves.toNotation(result.getBestMove()));
+        assertTrue(result.getScore() > 0);
+    }
+
+    private static int findMove(BitboardPosition position, int side, String notation) {
+        MoveBuffer moves = new MoveBuffer();
+        LegalMoveGenerator.generateLegalMoves(position, side, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Moves.toNotation(moves.get(i)).equals(notation)) {
+                return moves.get(i);
+            }
+        }
+        throw new AssertionError("No legal move " + notation);
+    }
+}
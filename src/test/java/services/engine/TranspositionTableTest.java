@@ -0,0 +1,144 @@
+package services.engine;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import services.bitboard.Moves;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.engine.TranspositionTable.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    void shouldRoundTripEntriesOnAndOffHeap() {
+        for (boolean offHeap : new boolean[]{false, true}) {
+            // Arrange
+            TranspositionTable table = TranspositionTable.ofMegabytes(1, offHeap);
+            int move = Moves.encode(52, 36, 0, -1, Moves.FLAG_DOUBLE_PUSH);
+
+            // Act
+            table.store(0x1234_5678_9ABC_DEF0L, move, -345, 7, BOUND_UPPER);
+            long data = table.probe(0x1234_5678_9ABC_DEF0L);
+
+            // Assert
+            assertEquals(1 << 15, table.getBucketCount());
+            assertEquals(move, TranspositionTable.move(data));
+            assertEquals(-345, score(data));
+            assertEquals(7, depth(data));
+            assertEquals(BOUND_UPPER, bound(data));
+            assertEquals(0L, table.probe(0x1234_5678_9ABC_DEF1L));
+        }
+    }
+
+    @Test
+    void shouldKeepDeepEntryAndReplaceTheOtherSlot() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(new HeapTableStorage(4));
+
+        // Act
+        table.store(1L, 0, 10, 8, BOUND_EXACT);
+        table.store(2L, 0, 20, 2, BOUND_EXACT);
+        table.store(3L, 0, 30, 3, BOUND_EXACT);
+
+        // Assert
+        assertEquals(10, score(table.probe(1L)));
+        assertEquals(0L, table.probe(2L));
+        assertEquals(30, score(table.probe(3L)));
+    }
+
+    @Test
+    void shouldLetNewSearchReplaceOldDeepEntries() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(new HeapTableStorage(4));
+        table.store(1L, 0, 10, 8, BOUND_EXACT);
+
+        // Act
+        table.newSearch();
+        table.store(2L, 0, 20, 1, BOUND_LOWER);
+
+        // Assert
+        assertEquals(0L, table.probe(1L));
+        assertEquals(20, score(table.probe(2L)));
+    }
+
+    @Test
+    void shouldStoreMateScoresRelativeToNode() {
+        // Arrange
+        int mateFoundAtPlyThree = Evaluation.MATE - 5;
+
+        // Act
+        int stored = scoreToTable(mateFoundAtPlyThree, 3);
+
+        // Assert - the same position reached at ply 1 is two plies further from the mate
+        assertEquals(Evaluation.MATE - 2, stored);
+        assertEquals(Evaluation.MATE - 3, scoreFromTable(stored, 1));
+        assertEquals(-Evaluation.MATE + 3, scoreFromTable(scoreToTable(-Evaluation.MATE + 5, 3), 1));
+        assertEquals(150, scoreFromTable(scoreToTable(150, 3), 1));
+    }
+
+    @Test
+    void shouldNeverReturnTornEntriesUnderConcurrentWrites() throws InterruptedException {
+        // Arrange - every writer stores data derived from the key, so a hit can be checked
+        TranspositionTable table = new TranspositionTable(new HeapTableStorage(64));
+        AtomicBoolean corrupted = new AtomicBoolean();
+        Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    long key = random.nextLong();
+                    if (random.nextBoolean()) {
+                        table.store(key, (int) (key & 0xFFFFFF), (int) (key >> 50), (int) (key >>> 58), BOUND_EXACT);
+                    } else {
+                        long data = table.probe(key);
+                        if (data != 0 && (TranspositionTable.move(data) != (int) (key & 0xFFFFFF)
+                                || score(data) != (int) (key >> 50))) {
+                            corrupted.set(true);
+                        }
+                    }
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertFalse(corrupted.get());
+    }
+
+    @Test
+    void shouldNotAllocateWhenProbing() {
+        // Arrange
+        TranspositionTable table = TranspositionTable.ofMegabytes(1, true);
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            table.store(i * 0x9E3779B97F4A7C15L, i, i, 1, BOUND_EXACT);
+            sum += table.probe(i * 0x9E3779B97F4A7C15L);
+        }
+
+        // Act
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            sum += table.probe(i * 0x9E3779B97F4A7C15L);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // Assert
+        assertNotEquals(0L, sum);
+        assertTrue(allocated < 1024, "Probing allocated " + allocated + " bytes");
+    }
+}
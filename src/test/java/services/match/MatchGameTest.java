@@ -0,0 +1,84 @@
+package services.match;
+
+import org.junit.jupiter.api.Test;
+import services.engine.SearchEngineImpl;
+import services.engine.TranspositionTable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchGameTest {
+
+    private static final Adjudication NO_ADJUDICATION = new Adjudication(Integer.MAX_VALUE, 1, -1, 1, 0, 400);
+
+    @Test
+    void shouldEndGameByCheckmate() {
+        // Arrange
+        MatchGame game = new MatchGame(engine(), engine(), "f2f3 e7e5 g2g4", 10, NO_ADJUDICATION);
+
+        // Act
+        GameOutcome outcome = game.play();
+
+        // Assert
+        assertEquals(GameResult.BLACK_WINS, outcome.getResult());
+        assertEquals(Termination.CHECKMATE, outcome.getTermination());
+        assertEquals(1, outcome.getPlies());
+    }
+
+    @Test
+    void shouldAdjudicateWinWhenBothEnginesAgree() {
+        // Arrange
+        Adjudication adjudication = new Adjudication(300, 2, -1, 1, 0, 400);
+        MatchGame game = new MatchGame(engine(), engine(), "e2e3 e7e5 d1h5 d8h4", 10, adjudication);
+
+        // Act
+        GameOutcome outcome = game.play();
+
+        // Assert
+        assertEquals(GameResult.WHITE_WINS, outcome.getResult());
+        assertEquals(Termination.ADJUDICATED_WIN, outcome.getTermination());
+        assertEquals(2, outcome.getPlies());
+    }
+
+    @Test
+    void shouldDrawAtMoveLimit() {
+        // Arrange
+        Adjudication adjudication = new Adjudication(Integer.MAX_VALUE, 1, -1, 1, 0, 4);
+        MatchGame game = new MatchGame(engine(), engine(), "", 2, adjudication);
+
+        // Act
+        GameOutcome outcome = game.play();
+
+        // Assert
+        assertEquals(GameResult.DRAW, outcome.getResult());
+        assertEquals(Termination.MOVE_LIMIT, outcome.getTermination());
+        assertTrue(game.getBoardService().isWhiteTurn());
+    }
+
+    @Test
+    void shouldDrawByThreefoldRepetition() {
+        // Arrange
+        String shuffle = "g1f3 g8f6 f3g1 f6g8 ";
+        MatchGame game = new MatchGame(engine(), engine(), shuffle + shuffle, 10, NO_ADJUDICATION);
+
+        // Act
+        GameOutcome outcome = game.play();
+
+        // Assert
+        assertEquals(GameResult.DRAW, outcome.getResult());
+        assertEquals(Termination.REPETITION, outcome.getTermination());
+        assertEquals(0, outcome.getPlies());
+    }
+
+    @Test
+    void shouldRejectIllegalOpeningMove() {
+        // Arrange
+        MatchGame game = new MatchGame(engine(), engine(), "e2e4 e7e5 e4e5", 10, NO_ADJUDICATION);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, game::play);
+    }
+
+    private static SearchEngineImpl engine() {
+        return new SearchEngineImpl(TranspositionTable.ofMegabytes(1, false));
+    }
+}
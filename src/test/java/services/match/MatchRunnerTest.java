@@ -0,0 +1,85 @@
+package services.match;
+
+import org.junit.jupiter.api.Test;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Bitboards;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.board.BoardService;
+import services.engine.SearchEngine;
+import services.engine.SearchEngineImpl;
+import services.engine.SearchLimits;
+import services.engine.SearchResult;
+import services.engine.TranspositionTable;
+import services.utils.Clock;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchRunnerTest {
+
+    @Test
+    void shouldComputeEloFromScore() {
+        // Act & Assert
+        assertEquals(0.0, MatchStatistics.elo(0.5), 1e-9);
+        assertEquals(190.85, MatchStatistics.elo(0.75), 0.01);
+        assertEquals(0.6, MatchStatistics.expectedScore(MatchStatistics.elo(0.6)), 1e-9);
+    }
+
+    @Test
+    void shouldDecideSprtOnlyOnceResultsAreClear() {
+        // Arrange
+        Sprt sprt = new Sprt(0, 10, 0.05, 0.05);
+
+        // Act & Assert
+        assertEquals(-2.944, sprt.getLowerBound(), 0.001);
+        assertEquals(2.944, sprt.getUpperBound(), 0.001);
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(0, 0, 0));
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(200, 600, 200));
+        assertEquals(Sprt.Decision.ACCEPT_H0, sprt.decide(2000, 6000, 2000));
+        assertEquals(Sprt.Decision.ACCEPT_H1, sprt.decide(300, 400, 100));
+    }
+
+    @Test
+    void shouldStopEarlyAgainstMuchWeakerEngine() {
+        // Arrange
+        MatchRunner runner = new MatchRunner(
+                () -> new SearchEngineImpl(TranspositionTable.ofMegabytes(1, false)),
+                FirstMoveEngine::new,
+                List.of("e2e4 e7e5", "d2d4 d7d5"),
+                2,
+                new Adjudication(500, 4, 0, 1000, 1000, 200),
+                new Sprt(0, 100, 0.05, 0.05),
+                2);
+
+        // Act
+        Sprt.Decision decision = runner.run(40);
+
+        // Assert
+        MatchStatistics statistics = runner.getStatistics();
+        assertEquals(Sprt.Decision.ACCEPT_H1, decision);
+        assertTrue(statistics.getGames() < 40, statistics.toString());
+        assertTrue(statistics.getWins() > statistics.getLosses(), statistics.toString());
+        assertEquals(statistics.getGames(),
+                statistics.getTerminations().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    // Always plays its first legal move
+    private static class FirstMoveEngine implements SearchEngine {
+        private final MoveBuffer moves = new MoveBuffer();
+
+        @Override
+        public SearchResult search(BoardService boardService, Clock clock) {
+            int side = boardService.isWhiteTurn() ? Bitboards.WHITE : Bitboards.BLACK;
+            return search(boardService.copyPosition(), side, SearchLimits.depth(1));
+        }
+
+        @Override
+        public SearchResult search(BitboardPosition position, int sideToMove, SearchLimits limits) {
+            moves.clear();
+            LegalMoveGenerator.generateLegalMoves(position, sideToMove, moves);
+            return new SearchResult(moves.get(0), 0, 1, new int[]{moves.get(0)}, 1, 0);
+        }
+    }
+}
@@ -5,11 +5,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.LegalMoveGenerator;
+import services.bitboard.MoveBuffer;
+import services.bitboard.Moves;
 import services.board.SquareInterface;
 import services.enums.PieceColor;
 import services.strategy.common.PieceInterface;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -132,6 +139,35 @@ public class KingStrategyTest {
         );
     }
 
+    // Test: King safety is left to the legal move generator
+    @Test
+    void shouldGenerateKingStepsOntoAttackedSquares() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("4k3/8/8/8/8/8/3r4/4K3 w - - 0 1", position);
+        when(king.getCurrentSquare()).thenReturn(currentSquare);
+        when(currentSquare.getXNum()).thenReturn(4);
+        when(currentSquare.getYNum()).thenReturn(7);
+        MoveBuffer pseudoLegal = new MoveBuffer();
+        MoveBuffer legal = new MoveBuffer();
+
+        // Act
+        kingStrategy.generateMoves(position, pseudoLegal);
+        LegalMoveGenerator.generateLegalMoves(position, side, legal);
+
+        // Assert
+        assertEquals(Set.of("e1d1", "e1d2", "e1e2", "e1f1", "e1f2"), notations(pseudoLegal));
+        assertEquals(Set.of("e1d2", "e1f1"), notations(legal));
+    }
+
+    private static Set<String> notations(MoveBuffer moves) {
+        Set<String> notations = new HashSet<>();
+        for (int i = 0; i < moves.size(); i++) {
+            notations.add(Moves.toNotation(moves.get(i)));
+        }
+        return notations;
+    }
+
     private void setupMockedSquareArray() {
         squareArrayMock = new SquareInterface[8][8];
         for (int y = 0; y < 8; y++) {
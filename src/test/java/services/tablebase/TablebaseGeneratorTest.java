@@ -0,0 +1,199 @@
+package services.tablebase;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import services.bitboard.BitboardPosition;
+import services.bitboard.Fen;
+import services.bitboard.Moves;
+import services.engine.Evaluation;
+import services.engine.SearchEngineImpl;
+import services.engine.SearchLimits;
+import services.engine.SearchResult;
+import services.engine.TranspositionTable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static services.bitboard.Bitboards.*;
+
+public class TablebaseGeneratorTest {
+
+    private static TablebaseGenerator generator;
+    private static Tablebases tablebases;
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    static void generateTables() throws IOException {
+        generator = new TablebaseGenerator(2);
+        generator.generateFiles(Material.parse("KQvK"), directory);
+        generator.generateFiles(Material.parse("KRvK"), directory);
+        generator.generateFiles(Material.parse("KNNvK"), directory);
+        tablebases = Tablebases.load(directory);
+    }
+
+    @Test
+    void shouldFindLongestMatesOfBasicEndings() {
+        // Act
+        int longestQueenMate = longestWin(generator.generate(Material.parse("KQvK")));
+        int longestRookMate = longestWin(generator.generate(Material.parse("KRvK")));
+
+        // Assert
+        // Mate in 10 and mate in 16 moves with the stronger side to move
+        assertEquals(19, longestQueenMate);
+        assertEquals(31, longestRookMate);
+    }
+
+    @Test
+    void shouldScoreMatesAndDrawsExactly() {
+        // Arrange
+        BitboardPosition mateInOne = new BitboardPosition();
+        int whiteToMove = Fen.load("6k1/8/6K1/8/8/8/8/Q7 w - - 0 1", mateInOne);
+        BitboardPosition mated = new BitboardPosition();
+        int blackToMove = Fen.load("Q5k1/8/6K1/8/8/8/8/8 b - - 0 1", mated);
+        BitboardPosition rookLost = new BitboardPosition();
+        int rookSide = Fen.load("8/8/8/3k4/8/8/3r4/3K4 w - - 0 1", rookLost);
+
+        // Act
+        int mateInOneCode = tablebases.probe(mateInOne, whiteToMove);
+        int matedCode = tablebases.probe(mated, blackToMove);
+        int rookLostCode = tablebases.probe(rookLost, rookSide);
+
+        // Assert
+        assertTrue(Tablebase.isWin(mateInOneCode));
+        assertEquals(1, Tablebase.plies(mateInOneCode));
+        assertTrue(Tablebase.isLoss(matedCode));
+        assertEquals(0, Tablebase.plies(matedCode));
+        // White takes the rook, which leaves bare kings
+        assertTrue(Tablebase.isDraw(rookLostCode));
+    }
+
+    @Test
+    void shouldReadBackPackedCodesForEveryIndex() throws IOException {
+        // Arrange
+        Material material = Material.parse("KQvK");
+        byte[] codes = generator.generate(material);
+
+        // Act
+        Tablebase table = Tablebase.open(directory.resolve("KQvK" + Tablebase.FILE_EXTENSION));
+
+        // Assert
+        assertEquals(5, table.getBitsPerEntry());
+        for (int index = 0; index < codes.length; index++) {
+            assertEquals(codes[index] & 0xFF, table.code(index), "Index " + index);
+        }
+    }
+
+    @Test
+    void shouldAnswerColorSwappedEndingFromMirroredTable() {
+        // Arrange
+        BitboardPosition whiteRook = new BitboardPosition();
+        Fen.load("8/8/8/4k3/8/8/8/R3K3 w - - 0 1", whiteRook);
+        BitboardPosition blackRook = new BitboardPosition();
+        Fen.load("r3k3/8/8/8/4K3/8/8/8 b - - 0 1", blackRook);
+
+        // Act
+        int whiteCode = tablebases.probe(whiteRook, WHITE);
+        int blackCode = tablebases.probe(blackRook, BLACK);
+
+        // Assert
+        assertNotEquals(Tablebases.NOT_FOUND, blackCode);
+        assertTrue(Tablebase.isWin(blackCode));
+        assertEquals(whiteCode, blackCode);
+    }
+
+    @Test
+    void shouldScoreFourPieceEnding() {
+        // Arrange
+        BitboardPosition mateInOne = new BitboardPosition();
+        int whiteToMove = Fen.load("7k/4N3/6K1/6N1/8/8/8/8 w - - 0 1", mateInOne);
+        BitboardPosition openBoard = new BitboardPosition();
+        int side = Fen.load("8/8/3k4/8/8/2NN4/8/4K3 w - - 0 1", openBoard);
+
+        // Act
+        int mateInOneCode = tablebases.probe(mateInOne, whiteToMove);
+        int openBoardCode = tablebases.probe(openBoard, side);
+
+        // Assert
+        assertTrue(Tablebase.isWin(mateInOneCode));
+        assertEquals(1, Tablebase.plies(mateInOneCode));
+        // Two knights cannot force mate against a king with room to run
+        assertTrue(Tablebase.isDraw(openBoardCode));
+    }
+
+    @Test
+    void shouldAnswerMirroredPositionsOfEndingWithEqualPieces() {
+        // Arrange
+        Material material = Material.parse("KNNvK");
+        byte[] codes = generator.generate(material);
+        BitboardPosition position = new BitboardPosition();
+        BitboardPosition mirrored = new BitboardPosition();
+        int resolved = 0;
+
+        for (int index = 0; index < codes.length; index++) {
+            int code = codes[index] & 0xFF;
+            if (code == 0) {
+                continue;
+            }
+            int sideToMove = material.setUp(position, index);
+            mirrored.clear();
+            for (long pieces = position.getOccupancy(); pieces != 0; pieces &= pieces - 1) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                int pieceCode = position.getPieceAt(square);
+                mirrored.putPiece(square ^ 56, pieceCode(opponent(codeColor(pieceCode)), codeType(pieceCode)));
+            }
+
+            // Act
+            int mirroredCode = tablebases.probe(mirrored, opponent(sideToMove));
+
+            // Assert
+            assertEquals(code, mirroredCode, "Index " + index);
+            resolved++;
+        }
+        assertTrue(resolved > 0);
+    }
+
+    @Test
+    void shouldNotCoverOtherEndings() {
+        // Arrange
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("8/8/8/4k3/8/8/8/B3K3 w - - 0 1", position);
+
+        // Act & Assert
+        assertEquals(Tablebases.NOT_FOUND, tablebases.probe(position, side));
+    }
+
+    @Test
+    void shouldLetSearchPlayExactMateFromTables() {
+        // Arrange
+        SearchEngineImpl engine = new SearchEngineImpl(TranspositionTable.ofMegabytes(1, false), 1, tablebases);
+        BitboardPosition position = new BitboardPosition();
+        int side = Fen.load("8/8/8/4k3/8/8/8/R3K3 w - - 0 1", position);
+        int code = tablebases.probe(position, side);
+
+        // Act
+        SearchResult result = engine.search(position, side, SearchLimits.depth(2));
+
+        // Assert
+        assertEquals(Evaluation.MATE - Tablebase.plies(code), result.getScore());
+        BitboardPosition after = position.copy();
+        after.makeMove(result.getBestMove());
+        int replyCode = tablebases.probe(after, opponent(side));
+        assertTrue(Tablebase.isLoss(replyCode));
+        assertEquals(Tablebase.plies(code) - 1, Tablebase.plies(replyCode));
+        assertNotEquals(Moves.NONE, result.getBestMove());
+    }
+
+    private static int longestWin(byte[] codes) {
+        int longest = 0;
+        for (byte code : codes) {
+            if (Tablebase.isWin(code & 0xFF)) {
+                longest = Math.max(longest, Tablebase.plies(code & 0xFF));
+            }
+        }
+        return longest;
+    }
+}